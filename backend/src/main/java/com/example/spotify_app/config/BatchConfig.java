@@ -0,0 +1,16 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+
+@Configuration
+@Getter
+public class BatchConfig {
+
+    @Value("${spotify.batch.max-items:50}")
+    private int maxItems;
+
+    @Value("${spotify.batch.max-concurrency:8}")
+    private int maxConcurrency;
+}
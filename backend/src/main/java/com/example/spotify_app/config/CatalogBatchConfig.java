@@ -0,0 +1,25 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+
+@Configuration
+@Getter
+public class CatalogBatchConfig {
+
+    @Value("${spotify.catalog-batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spotify.catalog-batch.window-ms:10}")
+    private long windowMs;
+
+    @Value("${spotify.catalog-batch.max-artists:50}")
+    private int maxArtists;
+
+    @Value("${spotify.catalog-batch.max-albums:20}")
+    private int maxAlbums;
+
+    @Value("${spotify.catalog-batch.max-tracks:50}")
+    private int maxTracks;
+}
@@ -0,0 +1,19 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+
+@Configuration
+@Getter
+public class CatalogCacheConfig {
+
+    @Value("${spotify.catalog-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spotify.catalog-cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${spotify.catalog-cache.ttl-seconds:3600}")
+    private long ttlSeconds;
+}
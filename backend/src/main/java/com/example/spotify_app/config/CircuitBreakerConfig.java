@@ -0,0 +1,22 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+
+@Configuration
+@Getter
+public class CircuitBreakerConfig {
+
+    @Value("${spotify.circuit-breaker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spotify.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${spotify.circuit-breaker.open-seconds:30}")
+    private long openSeconds;
+
+    @Value("${spotify.circuit-breaker.half-open-max-calls:3}")
+    private int halfOpenMaxCalls;
+}
@@ -0,0 +1,13 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+
+@Configuration
+@Getter
+public class CompositeConfig {
+
+    @Value("${spotify.composite.section-timeout-ms:3000}")
+    private long sectionTimeoutMs;
+}
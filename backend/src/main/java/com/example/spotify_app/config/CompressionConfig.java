@@ -0,0 +1,16 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+
+@Configuration
+@Getter
+public class CompressionConfig {
+
+    @Value("${spotify.compression.min-response-bytes:2048}")
+    private int minResponseBytes;
+
+    @Value("${spotify.compression.precompressed-max-entries:10000}")
+    private long precompressedMaxEntries;
+}
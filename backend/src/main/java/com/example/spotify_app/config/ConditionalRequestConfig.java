@@ -0,0 +1,16 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+
+@Configuration
+@Getter
+public class ConditionalRequestConfig {
+
+    @Value("${spotify.conditional-requests.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spotify.conditional-requests.max-entries:5000}")
+    private long maxEntries;
+}
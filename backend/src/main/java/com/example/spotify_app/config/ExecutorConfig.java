@@ -0,0 +1,30 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import lombok.Getter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@Getter
+public class ExecutorConfig {
+
+    @Value("${spotify.executor.io-threads:64}")
+    private int ioThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService spotifyIoExecutor() {
+        if (virtualThreads) {
+            // One virtual thread per outbound call; the connection pool becomes the concurrency limit
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("spotify-io-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(ioThreads, new CustomizableThreadFactory("spotify-io-"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Getter
+public class HttpCachingConfig {
+
+    @Value("${spotify.http-cache.catalog-max-age-seconds:300}")
+    private long catalogMaxAgeSeconds;
+
+    @Value("${spotify.http-cache.search-max-age-seconds:60}")
+    private long searchMaxAgeSeconds;
+
+    // Artist, album, track and search responses; profile data and the batch endpoint are left alone
+    @Bean
+    public FilterRegistrationBean<CatalogEtagFilter> catalogEtagFilter() {
+        FilterRegistrationBean<CatalogEtagFilter> registration = new FilterRegistrationBean<>(
+                new CatalogEtagFilter(catalogMaxAgeSeconds, searchMaxAgeSeconds));
+        registration.addUrlPatterns("/api/artists/*", "/api/albums/*", "/api/tracks/*", "/api/search");
+        return registration;
+    }
+
+    static class CatalogEtagFilter extends ShallowEtagHeaderFilter {
+
+        private final String catalogCacheControl;
+        private final String searchCacheControl;
+
+        CatalogEtagFilter(long catalogMaxAgeSeconds, long searchMaxAgeSeconds) {
+            // Tomcat does not gzip a response carrying a strong ETag, since the tag would no longer match the bytes
+            setWriteWeakETag(true);
+            this.catalogCacheControl = CacheControl.maxAge(catalogMaxAgeSeconds, TimeUnit.SECONDS)
+                    .cachePrivate()
+                    .getHeaderValue();
+            this.searchCacheControl = CacheControl.maxAge(searchMaxAgeSeconds, TimeUnit.SECONDS)
+                    .cachePrivate()
+                    .getHeaderValue();
+        }
+
+        @Override
+        protected boolean isEligibleForEtag(HttpServletRequest request, HttpServletResponse response,
+                int responseStatusCode, InputStream inputStream) {
+            boolean eligible = super.isEligibleForEtag(request, response, responseStatusCode, inputStream);
+
+            // Only successful GETs get a freshness lifetime, so errors are never served from the browser cache
+            if (eligible && response.getHeader(HttpHeaders.CACHE_CONTROL) == null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL,
+                        request.getRequestURI().endsWith("/api/search") ? searchCacheControl : catalogCacheControl);
+            }
+            return eligible;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+@Getter
+public class HttpClientConfig {
+
+    @Value("${spotify.http.max-connections-total:100}")
+    private int maxConnectionsTotal;
+
+    @Value("${spotify.http.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${spotify.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${spotify.http.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Value("${spotify.http.connection-request-timeout-ms:2000}")
+    private long connectionRequestTimeoutMs;
+
+    @Value("${spotify.http.keep-alive-seconds:30}")
+    private long keepAliveSeconds;
+
+    @Value("${spotify.http.idle-eviction-seconds:60}")
+    private long idleEvictionSeconds;
+
+    @Value("${spotify.http.token.max-connections:10}")
+    private int tokenMaxConnections;
+
+    @Bean
+    public PoolingHttpClientConnectionManager spotifyConnectionManager() {
+        return buildConnectionManager(maxConnectionsTotal, maxConnectionsPerRoute);
+    }
+
+    @Bean
+    public CloseableHttpClient spotifyHttpClient(
+            @Qualifier("spotifyConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return buildHttpClient(connectionManager);
+    }
+
+    @Bean
+    public RestClient spotifyRestClient(@Qualifier("spotifyHttpClient") CloseableHttpClient httpClient) {
+        return RestClient.builder()
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManager spotifyTokenConnectionManager() {
+        return buildConnectionManager(tokenMaxConnections, tokenMaxConnections);
+    }
+
+    @Bean
+    public CloseableHttpClient spotifyTokenHttpClient(
+            @Qualifier("spotifyTokenConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return buildHttpClient(connectionManager);
+    }
+
+    @Bean
+    public RestClient spotifyTokenRestClient(@Qualifier("spotifyTokenHttpClient") CloseableHttpClient httpClient,
+            SpotifyConfig spotifyConfig) {
+        return RestClient.builder()
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .defaultHeaders(headers -> {
+                    headers.setBasicAuth(spotifyConfig.getClientId(), spotifyConfig.getClientSecret());
+                    headers.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+                })
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spotify.client.mode", havingValue = "async")
+    public HttpClient spotifyAsyncHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    @Bean
+    public MeterBinder spotifyConnectionPoolMetrics(
+            @Qualifier("spotifyConnectionManager") PoolingHttpClientConnectionManager connectionManager,
+            @Qualifier("spotifyTokenConnectionManager") PoolingHttpClientConnectionManager tokenConnectionManager) {
+        return registry -> {
+            bindPoolMetrics(registry, "api", connectionManager);
+            bindPoolMetrics(registry, "token", tokenConnectionManager);
+        };
+    }
+
+    private PoolingHttpClientConnectionManager buildConnectionManager(int maxTotal, int maxPerRoute) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .build();
+    }
+
+    private CloseableHttpClient buildHttpClient(PoolingHttpClientConnectionManager connectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofSeconds(keepAliveSeconds))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+    }
+
+    private static void bindPoolMetrics(MeterRegistry registry, String pool,
+            PoolingHttpClientConnectionManager connectionManager) {
+        Gauge.builder("spotify.http.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .tag("pool", pool)
+                .description("Connections currently in use")
+                .register(registry);
+        Gauge.builder("spotify.http.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .tag("pool", pool)
+                .description("Idle connections kept alive in the pool")
+                .register(registry);
+        Gauge.builder("spotify.http.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .tag("pool", pool)
+                .description("Requests waiting for a connection")
+                .register(registry);
+        Gauge.builder("spotify.http.pool.max", connectionManager, cm -> cm.getTotalStats().getMax())
+                .tag("pool", pool)
+                .description("Maximum connections allowed in the pool")
+                .register(registry);
+    }
+}
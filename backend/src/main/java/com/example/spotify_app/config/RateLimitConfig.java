@@ -0,0 +1,34 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+
+@Configuration
+@Getter
+public class RateLimitConfig {
+
+    @Value("${spotify.rate-limit.permits-per-second:20}")
+    private double permitsPerSecond;
+
+    @Value("${spotify.rate-limit.burst:20}")
+    private int burst;
+
+    @Value("${spotify.rate-limit.max-queue-wait-seconds:30}")
+    private long maxQueueWaitSeconds;
+
+    @Value("${spotify.rate-limit.max-queue-depth:500}")
+    private int maxQueueDepth;
+
+    @Value("${spotify.rate-limit.per-user.max-concurrent:10}")
+    private int perUserMaxConcurrent;
+
+    @Value("${spotify.rate-limit.per-user.permits-per-second:10}")
+    private double perUserPermitsPerSecond;
+
+    @Value("${spotify.rate-limit.per-user.burst:50}")
+    private int perUserBurst;
+
+    @Value("${spotify.rate-limit.per-user.max-tracked-users:100000}")
+    private long perUserMaxTrackedUsers;
+}
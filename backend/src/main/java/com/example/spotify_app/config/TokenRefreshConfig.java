@@ -0,0 +1,30 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import lombok.Getter;
+
+@Configuration
+@EnableScheduling
+@Getter
+public class TokenRefreshConfig {
+
+    @Value("${spotify.token-refresh.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spotify.token-refresh.lead-seconds:300}")
+    private long leadSeconds;
+
+    @Value("${spotify.token-refresh.jitter-seconds:60}")
+    private long jitterSeconds;
+
+    @Value("${spotify.token-refresh.batch-size:50}")
+    private int batchSize;
+
+    @Value("${spotify.token-refresh.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${spotify.token-refresh.max-idle-seconds:86400}")
+    private long maxIdleSeconds;
+}
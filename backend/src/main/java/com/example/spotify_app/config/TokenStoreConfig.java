@@ -0,0 +1,46 @@
+package com.example.spotify_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+
+@Configuration
+@Getter
+public class TokenStoreConfig {
+
+    @Value("${spotify.token-store.type:memory}")
+    private String type;
+
+    @Value("${spotify.token-store.idle-ttl-seconds:604800}")
+    private long idleTtlSeconds;
+
+    @Value("${spotify.token-store.absolute-ttl-seconds:2592000}")
+    private long absoluteTtlSeconds;
+
+    @Value("${spotify.token-store.max-entries:100000}")
+    private long maxEntries;
+
+    @Value("${spotify.token-store.file.path:data/token-store.jsonl}")
+    private String filePath;
+
+    @Value("${spotify.token-store.file.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${spotify.token-store.file.compact-after-records:10000}")
+    private long compactAfterRecords;
+
+    @Value("${spotify.token-store.shared.key-prefix:spotify:session:}")
+    private String sharedKeyPrefix;
+
+    @Value("${spotify.token-store.shared.channel:spotify:session-invalidations}")
+    private String sharedChannel;
+
+    @Value("${spotify.token-store.shared.near-cache-ttl-seconds:30}")
+    private long sharedNearCacheTtlSeconds;
+
+    @Value("${spotify.token-store.shared.near-cache-max-entries:10000}")
+    private long sharedNearCacheMaxEntries;
+
+    @Value("${spotify.token-store.shared.refresh-lock-seconds:10}")
+    private long sharedRefreshLockSeconds;
+}
@@ -0,0 +1,72 @@
+package com.example.spotify_app.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.example.spotify_app.util.FieldProjection;
+
+@RestControllerAdvice(basePackages = "com.example.spotify_app.controller")
+public class FieldProjectionAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final int MAX_CACHED_PROJECTIONS = 500;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, FieldProjection> projections = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_PROJECTIONS)
+            .build();
+
+    public FieldProjectionAdvice(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (body == null || body instanceof String || !MediaType.APPLICATION_JSON.isCompatibleWith(selectedContentType)
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+
+        String fields = servletRequest.getServletRequest().getParameter("fields");
+        FieldProjection projection = fields != null ? projections.get(fields, FieldProjection::parse) : null;
+        if (projection == null) {
+            return body;
+        }
+
+        ByteArrayOutputStream projected = new ByteArrayOutputStream();
+        try {
+            projection.write(objectMapper, body, projected);
+        } catch (IOException e) {
+            System.err.println("Field projection failed, returning full response: " + e.getMessage());
+            return body;
+        }
+
+        // The projected bytes are written here, so the converter is given nothing more to write
+        try {
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getBody().write(projected.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.spotify_app.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import com.example.spotify_app.config.CompressionConfig;
+import com.example.spotify_app.model.Album.Album;
+import com.example.spotify_app.model.Artist.Artist;
+import com.example.spotify_app.model.Track.Track;
+
+@RestControllerAdvice(basePackages = "com.example.spotify_app.controller")
+public class PrecompressedCatalogAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final byte[] BELOW_THRESHOLD = new byte[0];
+
+    private final ObjectMapper objectMapper;
+    private final int minResponseBytes;
+    private final Cache<Object, byte[]> compressedBodies;
+
+    public PrecompressedCatalogAdvice(ObjectMapper objectMapper, CompressionConfig compressionConfig) {
+        this.objectMapper = objectMapper;
+        this.minResponseBytes = compressionConfig.getMinResponseBytes();
+        // Weak identity keys: the gzip bytes live exactly as long as the CatalogCache entry they were made from
+        this.compressedBodies = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(compressionConfig.getPrecompressedMaxEntries())
+                .build();
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (!(body instanceof Artist || body instanceof Album || body instanceof Track)
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(selectedContentType)
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+
+        // Projected responses differ per request, so only full bodies are worth keeping compressed
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        if (httpRequest.getParameter("fields") != null
+                || !acceptsGzip(httpRequest.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return body;
+        }
+
+        byte[] compressed = compressedBodies.get(body, this::compress);
+        if (compressed == BELOW_THRESHOLD) {
+            return body;
+        }
+
+        try {
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            response.getBody().write(compressed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    private byte[] compress(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            if (json.length < minResponseBytes) {
+                return BELOW_THRESHOLD;
+            }
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return compressed.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.spotify_app.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.example.spotify_app.model.Batch.BatchRequest;
+import com.example.spotify_app.model.Batch.BatchResponse;
+import com.example.spotify_app.service.SpotifyBatchService;
+import com.example.spotify_app.util.AuthUtils;
+
+@RestController
+@RequestMapping("/api")
+public class SpotifyBatchController {
+
+    private final SpotifyBatchService batchService;
+
+    public SpotifyBatchController(SpotifyBatchService batchService) {
+        this.batchService = batchService;
+    }
+
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<BatchResponse>> executeBatch(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestBody BatchRequest batchRequest) {
+
+        String userId;
+        try {
+            userId = AuthUtils.extractUserId(authHeader);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        }
+
+        if (userId == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+
+        try {
+            return batchService.execute(userId, batchRequest.getRequests())
+                    .exceptionally(e -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        }
+    }
+}
@@ -1,35 +1,35 @@
-package com.example.spotify_app.model.Artist;
-
-import com.fasterxml.jackson.annotation.JsonProperty;
-
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-
-import com.example.spotify_app.model.Album.Album;
-
-@Getter
-@NoArgsConstructor
-@AllArgsConstructor
-public class ArtistAlbumsResponse {
-    @JsonProperty("href")
-    private String href;
-
-    @JsonProperty("limit")
-    private Integer limit;
-
-    @JsonProperty("offset")
-    private Integer offset;
-
-    @JsonProperty("previous")
-    private String previous;
-
-    @JsonProperty("total")
-    private int total;
-
-    @JsonProperty("next")
-    private String next;
-
-    @JsonProperty("items")
-    private Album[] albums;
-}
+package com.example.spotify_app.model.Artist;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import com.example.spotify_app.model.Album.Album;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArtistAlbumsResponse {
+    @JsonProperty("href")
+    private String href;
+
+    @JsonProperty("limit")
+    private Integer limit;
+
+    @JsonProperty("offset")
+    private Integer offset;
+
+    @JsonProperty("previous")
+    private String previous;
+
+    @JsonProperty("total")
+    private int total;
+
+    @JsonProperty("next")
+    private String next;
+
+    @JsonProperty("items")
+    private Album[] albums;
+}
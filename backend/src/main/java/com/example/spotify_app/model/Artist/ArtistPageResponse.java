@@ -0,0 +1,28 @@
+package com.example.spotify_app.model.Artist;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+import com.example.spotify_app.model.Track.Track;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArtistPageResponse {
+    @JsonProperty("artist")
+    private Artist artist;
+
+    @JsonProperty("top_tracks")
+    private Track[] topTracks;
+
+    @JsonProperty("albums")
+    private ArtistAlbumsResponse albums;
+
+    @JsonProperty("failed_sections")
+    private Map<String, Integer> failedSections;
+}
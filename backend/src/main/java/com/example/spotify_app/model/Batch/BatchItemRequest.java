@@ -0,0 +1,33 @@
+package com.example.spotify_app.model.Batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemRequest {
+    @JsonProperty("key")
+    private String key;
+
+    @JsonProperty("operation")
+    private String operation;
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("q")
+    private String query;
+
+    @JsonProperty("type")
+    private String type;
+
+    @JsonProperty("limit")
+    private Integer limit;
+
+    @JsonProperty("offset")
+    private Integer offset;
+}
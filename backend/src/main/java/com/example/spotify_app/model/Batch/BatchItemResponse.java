@@ -0,0 +1,21 @@
+package com.example.spotify_app.model.Batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResponse {
+    @JsonProperty("key")
+    private String key;
+
+    @JsonProperty("status")
+    private int status;
+
+    @JsonProperty("body")
+    private Object body;
+}
@@ -0,0 +1,17 @@
+package com.example.spotify_app.model.Batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse {
+    @JsonProperty("results")
+    private List<BatchItemResponse> results;
+}
@@ -0,0 +1,26 @@
+package com.example.spotify_app.model.Profile;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpotifyDashboardResponse {
+    @JsonProperty("profile")
+    private SpotifyProfileResponse profile;
+
+    @JsonProperty("top_artists")
+    private SpotifyTopArtistsResponse topArtists;
+
+    @JsonProperty("top_tracks")
+    private SpotifyTopTracksResponse topTracks;
+
+    @JsonProperty("failed_sections")
+    private Map<String, Integer> failedSections;
+}
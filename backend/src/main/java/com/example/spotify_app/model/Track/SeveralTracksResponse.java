@@ -0,0 +1,15 @@
+package com.example.spotify_app.model.Track;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeveralTracksResponse {
+    @JsonProperty("tracks")
+    private Track[] tracks;
+}
@@ -1,15 +1,15 @@
-package com.example.spotify_app.model.common;
-
-import com.fasterxml.jackson.annotation.JsonProperty;
-
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-
-@Getter
-@NoArgsConstructor
-@AllArgsConstructor
-public class ExternalUrls {
-    @JsonProperty("spotify")
-    private String spotify;
-}
+package com.example.spotify_app.model.common;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExternalUrls {
+    @JsonProperty("spotify")
+    private String spotify;
+}
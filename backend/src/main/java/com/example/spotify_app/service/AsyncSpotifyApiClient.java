@@ -0,0 +1,127 @@
+package com.example.spotify_app.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.example.spotify_app.config.HttpClientConfig;
+import com.example.spotify_app.config.RetryConfig;
+import com.example.spotify_app.config.SpotifyConfig;
+import com.example.spotify_app.util.RetryUtils;
+
+@Service
+@Primary
+@ConditionalOnProperty(name = "spotify.client.mode", havingValue = "async")
+public class AsyncSpotifyApiClient extends SpotifyApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration readTimeout;
+
+    public AsyncSpotifyApiClient(TokenStore tokenStore, SpotifyConfig spotifyConfig, RetryConfig retryConfig,
+            RetryUtils retryUtils, TokenRefreshCoordinator refreshCoordinator, RateLimitGovernor rateLimitGovernor,
+            UserRequestLimiter requestLimiter, UpstreamCircuitBreaker circuitBreaker, UpstreamEtagCache etagCache,
+            @Qualifier("spotifyRestClient") RestClient restClient,
+            @Qualifier("spotifyIoExecutor") Executor ioExecutor,
+            @Qualifier("spotifyAsyncHttpClient") HttpClient httpClient,
+            ObjectMapper objectMapper, HttpClientConfig httpClientConfig) {
+        super(tokenStore, spotifyConfig, retryConfig, retryUtils, refreshCoordinator, rateLimitGovernor,
+                requestLimiter, circuitBreaker, etagCache, restClient, ioExecutor);
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.readTimeout = Duration.ofMillis(httpClientConfig.getReadTimeoutMs());
+    }
+
+    @Override
+    protected <T> CompletableFuture<ResponseEntity<T>> fetch(String url, String accessToken, String etag,
+            Class<T> responseType, Executor executor) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(readTimeout)
+                .header("Authorization", "Bearer " + accessToken)
+                .header("Accept", MediaType.APPLICATION_JSON_VALUE)
+                .GET();
+        if (etag != null) {
+            builder.header(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        HttpRequest request = builder.build();
+
+        // The executor only releases the call once any rate-limit wait is over; the exchange itself holds no thread
+        return CompletableFuture.runAsync(() -> {
+        }, executor)
+                .thenCompose(ignored -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()))
+                .thenApply(response -> toEntity(response, responseType));
+    }
+
+    private <T> ResponseEntity<T> toEntity(HttpResponse<byte[]> response, Class<T> responseType) {
+        if (response.statusCode() == HttpStatus.NOT_MODIFIED.value()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        T body = readBody(response, responseType);
+        return response.headers().firstValue(HttpHeaders.ETAG)
+                .map(etag -> ResponseEntity.ok().eTag(etag).body(body))
+                .orElseGet(() -> ResponseEntity.ok(body));
+    }
+
+    private <T> T readBody(HttpResponse<byte[]> response, Class<T> responseType) {
+        if (response.statusCode() >= 400) {
+            throw toException(response);
+        }
+
+        byte[] body = response.body();
+        if (responseType == byte[].class) {
+            return responseType.cast(body);
+        }
+        if (responseType == String.class) {
+            return responseType.cast(new String(body, StandardCharsets.UTF_8));
+        }
+        if (body.length == 0) {
+            return null;
+        }
+
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse Spotify response", e);
+        }
+    }
+
+    // Same exception types RestClient raises, so retry, refresh and 429 handling stay shared with the parent
+    private RestClientResponseException toException(HttpResponse<byte[]> response) {
+        HttpStatusCode statusCode = HttpStatusCode.valueOf(response.statusCode());
+        HttpStatus status = HttpStatus.resolve(response.statusCode());
+        String statusText = status != null ? status.getReasonPhrase() : "";
+
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+
+        if (statusCode.is4xxClientError()) {
+            return HttpClientErrorException.create(statusCode, statusText, headers, response.body(),
+                    StandardCharsets.UTF_8);
+        }
+        return HttpServerErrorException.create(statusCode, statusText, headers, response.body(),
+                StandardCharsets.UTF_8);
+    }
+}
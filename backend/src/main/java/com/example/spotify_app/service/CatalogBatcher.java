@@ -0,0 +1,203 @@
+package com.example.spotify_app.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.example.spotify_app.config.CatalogBatchConfig;
+import com.example.spotify_app.model.Album.Album;
+import com.example.spotify_app.model.Album.SeveralAlbumsResponse;
+import com.example.spotify_app.model.Artist.Artist;
+import com.example.spotify_app.model.Artist.SeveralArtistsResponse;
+import com.example.spotify_app.model.Track.SeveralTracksResponse;
+import com.example.spotify_app.model.Track.Track;
+
+@Component
+public class CatalogBatcher {
+
+    private static final Pattern SINGLE_ID_ENDPOINT = Pattern.compile("^/(artists|albums|tracks)/([A-Za-z0-9]+)$");
+
+    private final SpotifyApiClient apiClient;
+    private final UserRequestLimiter requestLimiter;
+    private final boolean enabled;
+    private final Executor flushExecutor;
+    private final Map<String, BatchEndpoint<?>> batchEndpoints;
+    private final Map<String, PendingBatch> pendingBatches = new HashMap<>();
+
+    public CatalogBatcher(SpotifyApiClient apiClient, UserRequestLimiter requestLimiter,
+            CatalogBatchConfig batchConfig, @Qualifier("spotifyIoExecutor") Executor ioExecutor) {
+        this.apiClient = apiClient;
+        this.requestLimiter = requestLimiter;
+        this.enabled = batchConfig.isEnabled();
+        this.flushExecutor = CompletableFuture.delayedExecutor(batchConfig.getWindowMs(), TimeUnit.MILLISECONDS,
+                ioExecutor);
+        this.batchEndpoints = Map.of(
+                "artists", new BatchEndpoint<>(Artist.class, SeveralArtistsResponse.class,
+                        SeveralArtistsResponse::getArtists, batchConfig.getMaxArtists()),
+                "albums", new BatchEndpoint<>(Album.class, SeveralAlbumsResponse.class,
+                        SeveralAlbumsResponse::getAlbums, batchConfig.getMaxAlbums()),
+                "tracks", new BatchEndpoint<>(Track.class, SeveralTracksResponse.class,
+                        SeveralTracksResponse::getTracks, batchConfig.getMaxTracks()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<ResponseEntity<T>> fetch(String userId, String endpoint, Class<T> responseType) {
+        Matcher matcher = SINGLE_ID_ENDPOINT.matcher(endpoint);
+        BatchEndpoint<?> batchEndpoint = matcher.matches() ? batchEndpoints.get(matcher.group(1)) : null;
+
+        if (!enabled || batchEndpoint == null || batchEndpoint.entityType() != responseType
+                || apiClient.getValidAccessToken(userId) == null) {
+            return apiClient.makeSharedRequest(userId, endpoint, responseType);
+        }
+
+        // Each waiter counts against its own user's limits until the shared call completes
+        UserRequestLimiter.Permit permit = requestLimiter.tryAcquire(userId);
+        if (!permit.granted()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(permit.retryAfterSeconds()))
+                    .build());
+        }
+
+        CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+        result.whenComplete((response, e) -> permit.release());
+        enqueue(matcher.group(1), batchEndpoint, userId, matcher.group(2), result);
+        return (CompletableFuture<ResponseEntity<T>>) (CompletableFuture<?>) result;
+    }
+
+    private void enqueue(String collection, BatchEndpoint<?> batchEndpoint, String userId, String id,
+            CompletableFuture<ResponseEntity<?>> result) {
+        PendingBatch fullBatch = null;
+
+        synchronized (pendingBatches) {
+            PendingBatch batch = pendingBatches.get(collection);
+            if (batch == null) {
+                PendingBatch newBatch = new PendingBatch(userId);
+                pendingBatches.put(collection, newBatch);
+                flushExecutor.execute(() -> flush(collection, batchEndpoint, newBatch));
+                batch = newBatch;
+            }
+
+            batch.waiters.computeIfAbsent(id, key -> new ArrayList<>()).add(new Waiter(userId, result));
+            if (batch.waiters.size() >= batchEndpoint.maxBatchSize()) {
+                pendingBatches.remove(collection);
+                fullBatch = batch;
+            }
+        }
+
+        if (fullBatch != null) {
+            send(collection, batchEndpoint, fullBatch);
+        }
+    }
+
+    private void flush(String collection, BatchEndpoint<?> batchEndpoint, PendingBatch batch) {
+        boolean due;
+        synchronized (pendingBatches) {
+            // A batch that filled up before its window closed has already been sent
+            due = pendingBatches.remove(collection, batch);
+        }
+
+        if (due) {
+            send(collection, batchEndpoint, batch);
+        }
+    }
+
+    private <B> void send(String collection, BatchEndpoint<B> batchEndpoint, PendingBatch batch) {
+        List<String> ids = new ArrayList<>(batch.waiters.keySet());
+        String endpoint = "/" + collection + "?ids=" + String.join(",", ids);
+
+        // Catalog entries are the same for every user, so the first caller's token serves the whole batch
+        CompletableFuture<ResponseEntity<B>> request = apiClient.makeBatchedRequest(batch.userId, endpoint,
+                batchEndpoint.responseType());
+        request.whenComplete((response, e) -> {
+            if (e != null) {
+                batch.waiters.values()
+                        .forEach(waiters -> waiters.forEach(waiter -> waiter.result().completeExceptionally(e)));
+                return;
+            }
+
+            HttpStatusCode status = response.getStatusCode();
+            if (status == HttpStatus.UNAUTHORIZED || status == HttpStatus.FORBIDDEN) {
+                // Only the batch owner's token was rejected; everyone else retries the lookup with their own
+                ResponseEntity<?> rejected = ResponseEntity.status(status).headers(response.getHeaders()).build();
+                for (String id : ids) {
+                    for (Waiter waiter : batch.waiters.get(id)) {
+                        if (waiter.userId().equals(batch.userId)) {
+                            waiter.result().complete(rejected);
+                        } else {
+                            redispatch(collection, batchEndpoint, id, waiter);
+                        }
+                    }
+                }
+                return;
+            }
+
+            Object[] items = response.getStatusCode() == HttpStatus.OK && response.getBody() != null
+                    ? batchEndpoint.items().apply(response.getBody())
+                    : null;
+
+            for (int i = 0; i < ids.size(); i++) {
+                String singleEndpoint = "/" + collection + "/" + ids.get(i);
+                ResponseEntity<?> result;
+                if (items == null) {
+                    // While Spotify is unavailable each ID falls back on its own to what an earlier batch returned
+                    ResponseEntity<?> stale = status == HttpStatus.SERVICE_UNAVAILABLE
+                            ? apiClient.staleResponse(singleEndpoint, batchEndpoint.entityType())
+                            : null;
+                    result = stale != null
+                            ? stale
+                            : ResponseEntity.status(status).headers(response.getHeaders()).build();
+                } else if (i < items.length && items[i] != null) {
+                    apiClient.rememberForFallback(singleEndpoint, batchEndpoint.entityType(), items[i]);
+                    result = ResponseEntity.ok(items[i]);
+                } else {
+                    // Spotify answers unknown IDs with a null entry in the same position
+                    result = ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+                }
+                batch.waiters.get(ids.get(i)).forEach(waiter -> waiter.result().complete(result));
+            }
+        });
+    }
+
+    // The waiter was already charged against its user's limits when it joined the batch
+    private void redispatch(String collection, BatchEndpoint<?> batchEndpoint, String id, Waiter waiter) {
+        apiClient.makeBatchedRequest(waiter.userId(), "/" + collection + "/" + id, batchEndpoint.entityType())
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        waiter.result().completeExceptionally(e);
+                    } else {
+                        waiter.result().complete(response);
+                    }
+                });
+    }
+
+    private record BatchEndpoint<B>(Class<?> entityType, Class<B> responseType, Function<B, Object[]> items,
+            int maxBatchSize) {
+    }
+
+    private record Waiter(String userId, CompletableFuture<ResponseEntity<?>> result) {
+    }
+
+    private static final class PendingBatch {
+        private final String userId;
+        private final Map<String, List<Waiter>> waiters = new LinkedHashMap<>();
+
+        private PendingBatch(String userId) {
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.spotify_app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.spotify_app.config.CatalogCacheConfig;
+
+@Component
+public class CatalogCache implements MeterBinder {
+
+    private final SpotifyApiClient apiClient;
+    private final CatalogBatcher catalogBatcher;
+    private final boolean enabled;
+    private final Cache<String, Object> cache;
+
+    @Autowired
+    public CatalogCache(SpotifyApiClient apiClient, CatalogBatcher catalogBatcher, CatalogCacheConfig cacheConfig) {
+        this(apiClient, catalogBatcher, cacheConfig, Ticker.systemTicker());
+    }
+
+    CatalogCache(SpotifyApiClient apiClient, CatalogBatcher catalogBatcher, CatalogCacheConfig cacheConfig,
+            Ticker ticker) {
+        this.apiClient = apiClient;
+        this.catalogBatcher = catalogBatcher;
+        this.enabled = cacheConfig.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaxEntries())
+                .expireAfterWrite(Duration.ofSeconds(cacheConfig.getTtlSeconds()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public <T> CompletableFuture<ResponseEntity<T>> getOrFetch(String userId, String endpoint,
+            Class<T> responseType) {
+        // Catalog data is the same for everyone, but only callers with a session may read it
+        if (!enabled || apiClient.getValidAccessToken(userId) == null) {
+            return catalogBatcher.fetch(userId, endpoint, responseType);
+        }
+
+        Object cached = cache.getIfPresent(endpoint);
+        if (responseType.isInstance(cached)) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(responseType.cast(cached)));
+        }
+
+        return catalogBatcher.fetch(userId, endpoint, responseType).thenApply(response -> {
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                cache.put(endpoint, response.getBody());
+            }
+            return response;
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "spotify.catalog");
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.spotify_app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.example.spotify_app.config.TokenStoreConfig;
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+@Component
+@ConditionalOnProperty(name = "spotify.token-store.type", havingValue = "file")
+public class FileTokenStore implements TokenStore, MeterBinder {
+
+    private static final String PUT = "put";
+    private static final String REMOVE = "remove";
+
+    private final InMemoryTokenStore memory;
+    private final Clock clock;
+    private final ObjectMapper objectMapper;
+    private final Path logPath;
+    private final long compactAfterRecords;
+    private final Queue<LogRecord> pendingRecords = new ConcurrentLinkedQueue<>();
+    private final List<LogRecord> unwrittenRecords = new ArrayList<>();
+    private final Object writeLock = new Object();
+    private final Object fileLock = new Object();
+    private final ScheduledExecutorService flusher;
+    private long recordsInLog;
+    private long liveRecordsInLog;
+
+    @Autowired
+    public FileTokenStore(TokenStoreConfig storeConfig, ObjectMapper objectMapper) {
+        this(storeConfig, objectMapper, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    FileTokenStore(TokenStoreConfig storeConfig, ObjectMapper objectMapper, Clock clock, Ticker ticker) {
+        // Sessions dropped for idleness, age or size must not come back on the next restart
+        this.memory = new InMemoryTokenStore(Duration.ofSeconds(storeConfig.getIdleTtlSeconds()),
+                Duration.ofSeconds(storeConfig.getAbsoluteTtlSeconds()), storeConfig.getMaxEntries(), clock, ticker,
+                userId -> pendingRecords.add(LogRecord.remove(userId)));
+        this.clock = clock;
+        this.objectMapper = objectMapper;
+        this.logPath = Path.of(storeConfig.getFilePath());
+        this.compactAfterRecords = storeConfig.getCompactAfterRecords();
+
+        load();
+        compact();
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-store-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, storeConfig.getFlushIntervalMs(),
+                storeConfig.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    // Reads never touch the file; writes land in memory first and reach the log in batches
+    @Override
+    public void saveToken(String userId, SpotifyTokenResponse tokenResponse) {
+        synchronized (writeLock) {
+            memory.saveToken(userId, tokenResponse);
+            LogRecord record = putRecord(userId, tokenResponse);
+            if (record != null) {
+                pendingRecords.add(record);
+            }
+        }
+    }
+
+    @Override
+    public SpotifyTokenResponse getToken(String userId) {
+        return memory.getToken(userId);
+    }
+
+    @Override
+    public SpotifyTokenResponse peekToken(String userId) {
+        return memory.peekToken(userId);
+    }
+
+    @Override
+    public void removeToken(String userId) {
+        synchronized (writeLock) {
+            memory.removeToken(userId);
+            pendingRecords.add(LogRecord.remove(userId));
+        }
+    }
+
+    @Override
+    public Instant getExpiresAt(String userId) {
+        return memory.getExpiresAt(userId);
+    }
+
+    @Override
+    public boolean isExpired(String userId) {
+        return memory.isExpired(userId);
+    }
+
+    @Override
+    public Instant getLastAccessAt(String userId) {
+        return memory.getLastAccessAt(userId);
+    }
+
+    @Override
+    public List<String> findUserIdsExpiringBefore(Instant deadline) {
+        return memory.findUserIdsExpiringBefore(deadline);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        memory.bindTo(registry);
+    }
+
+    void flush() {
+        synchronized (fileLock) {
+            LogRecord record;
+            while ((record = pendingRecords.poll()) != null) {
+                unwrittenRecords.add(record);
+            }
+            if (unwrittenRecords.isEmpty()) {
+                return;
+            }
+
+            try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                ByteBuffer batch = ByteBuffer.wrap(serialize(unwrittenRecords));
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                // One fsync per batch instead of one per login
+                channel.force(false);
+            } catch (IOException e) {
+                // Kept in order and retried on the next flush
+                System.err.println("Failed to write " + unwrittenRecords.size() + " token records: " + e.getMessage());
+                return;
+            }
+
+            recordsInLog += unwrittenRecords.size();
+            unwrittenRecords.clear();
+
+            // Only worth rewriting once superseded records outnumber the live ones
+            if (recordsInLog >= compactAfterRecords && recordsInLog >= 2 * liveRecordsInLog) {
+                try {
+                    compact();
+                } catch (UncheckedIOException e) {
+                    System.err.println(e.getMessage() + ": " + e.getCause().getMessage());
+                }
+            }
+        }
+    }
+
+    // Reads are not logged, so the last rewrite also records how recently each session was used
+    @PreDestroy
+    public void close() {
+        flusher.shutdown();
+        flush();
+        try {
+            compact();
+        } catch (UncheckedIOException e) {
+            System.err.println(e.getMessage() + ": " + e.getCause().getMessage());
+        }
+    }
+
+    void cleanUp() {
+        memory.cleanUp();
+    }
+
+    private void load() {
+        if (!Files.exists(logPath)) {
+            return;
+        }
+
+        int skipped = 0;
+        int ended = 0;
+        try (BufferedReader reader = Files.newBufferedReader(logPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    if (!apply(objectMapper.readValue(line, LogRecord.class))) {
+                        ended++;
+                    }
+                } catch (JsonProcessingException e) {
+                    // A crash mid-append can leave a torn last line
+                    skipped++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read token store " + logPath, e);
+        }
+
+        if (skipped > 0) {
+            System.err.println("Skipped " + skipped + " unreadable records in token store " + logPath);
+        }
+        if (ended > 0) {
+            System.out.println("Dropped " + ended + " sessions that expired while the token store was closed");
+        }
+    }
+
+    // False when a stored session has already run past its idle or absolute TTL
+    private boolean apply(LogRecord record) {
+        if (PUT.equals(record.op()) && record.token() != null && record.expiresAt() != null) {
+            // Records written before session times were kept start their session now
+            Instant now = clock.instant();
+            Instant startedAt = record.startedAt() != null ? Instant.ofEpochSecond(record.startedAt()) : now;
+            Instant lastAccessAt = record.lastAccessAt() != null ? Instant.ofEpochSecond(record.lastAccessAt()) : now;
+            return memory.restoreToken(record.userId(), record.token(), Instant.ofEpochSecond(record.expiresAt()),
+                    startedAt, lastAccessAt);
+        } else if (REMOVE.equals(record.op())) {
+            memory.removeToken(record.userId());
+        }
+        return true;
+    }
+
+    // Rewrites the log as one record per live session, then swaps it in atomically
+    private void compact() {
+        synchronized (fileLock) {
+            List<LogRecord> live = new ArrayList<>();
+            for (String userId : memory.getUserIds()) {
+                LogRecord record = putRecord(userId, memory.peekToken(userId));
+                if (record != null) {
+                    live.add(record);
+                }
+            }
+
+            Path compacted = logPath.resolveSibling(logPath.getFileName() + ".tmp");
+            try {
+                if (logPath.toAbsolutePath().getParent() != null) {
+                    Files.createDirectories(logPath.toAbsolutePath().getParent());
+                }
+                Files.write(compacted, serialize(live));
+                restrictToOwner(compacted);
+                Files.move(compacted, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to compact token store " + logPath, e);
+            }
+
+            recordsInLog = live.size();
+            liveRecordsInLog = live.size();
+        }
+    }
+
+    private LogRecord putRecord(String userId, SpotifyTokenResponse token) {
+        Instant expiresAt = memory.getExpiresAt(userId);
+        Instant startedAt = memory.getStartedAt(userId);
+        Instant lastAccessAt = memory.getLastAccessAt(userId);
+        if (token == null || expiresAt == null || startedAt == null || lastAccessAt == null) {
+            return null;
+        }
+        return new LogRecord(PUT, userId, token, expiresAt.getEpochSecond(), startedAt.getEpochSecond(),
+                lastAccessAt.getEpochSecond());
+    }
+
+    private byte[] serialize(List<LogRecord> records) throws JsonProcessingException {
+        StringBuilder lines = new StringBuilder();
+        for (LogRecord record : records) {
+            lines.append(objectMapper.writeValueAsString(record)).append('\n');
+        }
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void restrictToOwner(Path path) throws IOException {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system; rely on the directory's permissions
+        }
+    }
+
+    record LogRecord(String op, String userId, SpotifyTokenResponse token, Long expiresAt, Long startedAt,
+            Long lastAccessAt) {
+
+        static LogRecord remove(String userId) {
+            return new LogRecord(REMOVE, userId, null, null, null, null);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.spotify_app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.example.spotify_app.config.TokenStoreConfig;
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+@Component
+@ConditionalOnProperty(name = "spotify.token-store.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenStore implements TokenStore, MeterBinder {
+
+    // Rough per-entry overhead of the cache node, record, token object and their headers
+    private static final long ENTRY_OVERHEAD_BYTES = 240;
+
+    private final Cache<String, TokenEntry> tokenStore;
+    private final Duration idleTtl;
+    private final Duration absoluteTtl;
+    private final Clock clock;
+    private final Ticker ticker;
+    // Kept up to date on every write and removal so a metrics scrape does not walk the sessions
+    private final LongAdder estimatedBytes = new LongAdder();
+
+    @Autowired
+    public InMemoryTokenStore(TokenStoreConfig storeConfig) {
+        this(Duration.ofSeconds(storeConfig.getIdleTtlSeconds()), Duration.ofSeconds(storeConfig.getAbsoluteTtlSeconds()),
+                storeConfig.getMaxEntries(), Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    InMemoryTokenStore(Duration idleTtl, Duration absoluteTtl, long maxEntries, Clock clock, Ticker ticker) {
+        this(idleTtl, absoluteTtl, maxEntries, clock, ticker, userId -> {
+        });
+    }
+
+    // onEvicted hears about sessions dropped for idleness, age or size, but not explicit removals
+    InMemoryTokenStore(Duration idleTtl, Duration absoluteTtl, long maxEntries, Clock clock, Ticker ticker,
+            Consumer<String> onEvicted) {
+        this.idleTtl = idleTtl;
+        this.absoluteTtl = absoluteTtl;
+        this.clock = clock;
+        this.ticker = ticker;
+        this.tokenStore = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new SessionExpiry(idleTtl.toNanos(), absoluteTtl.toNanos()))
+                .evictionListener((String userId, TokenEntry entry, RemovalCause cause) -> {
+                    if (entry != null) {
+                        estimatedBytes.add(-entry.bytes());
+                    }
+                    onEvicted.accept(userId);
+                })
+                .scheduler(Scheduler.systemScheduler())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void saveToken(String userId, SpotifyTokenResponse tokenResponse) {
+        Objects.requireNonNull(tokenResponse);
+        Instant expiresAt = computeExpiresAt(tokenResponse);
+        tokenStore.asMap().compute(userId, (key, current) -> {
+            TokenEntry entry = new TokenEntry(tokenResponse, expiresAt,
+                    current != null ? current.sessionStartNanos() : ticker.read(), estimateBytes(key, tokenResponse));
+            estimatedBytes.add(entry.bytes() - (current != null ? current.bytes() : 0));
+            return entry;
+        });
+    }
+
+    // Counts as session activity and pushes back the idle timeout
+    @Override
+    public SpotifyTokenResponse getToken(String userId) {
+        TokenEntry entry = tokenStore.getIfPresent(userId);
+        return entry != null ? entry.token() : null;
+    }
+
+    @Override
+    public SpotifyTokenResponse peekToken(String userId) {
+        TokenEntry entry = peek(userId);
+        return entry != null ? entry.token() : null;
+    }
+
+    @Override
+    public void removeToken(String userId) {
+        remove(userId);
+    }
+
+    @Override
+    public Instant getExpiresAt(String userId) {
+        TokenEntry entry = peek(userId);
+        return entry != null ? entry.expiresAt() : null;
+    }
+
+    @Override
+    public boolean isExpired(String userId) {
+        Instant expiresAt = getExpiresAt(userId);
+        return expiresAt != null && !clock.instant().isBefore(expiresAt);
+    }
+
+    @Override
+    public List<String> findUserIdsExpiringBefore(Instant deadline) {
+        Instant now = clock.instant();
+
+        return tokenStore.asMap().entrySet().stream()
+                .filter(e -> e.getValue().expiresAt().isAfter(now) && e.getValue().expiresAt().isBefore(deadline))
+                .sorted(Comparator.comparing(e -> e.getValue().expiresAt()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Puts back a session as it was when saved, e.g. when replaying a durable store; false if it has run out since
+    boolean restoreToken(String userId, SpotifyTokenResponse tokenResponse, Instant expiresAt, Instant startedAt,
+            Instant lastAccessAt) {
+        Instant now = clock.instant();
+        Instant idleDeadline = lastAccessAt.plus(idleTtl);
+        Instant absoluteDeadline = startedAt.plus(absoluteTtl);
+        Instant deadline = idleDeadline.isBefore(absoluteDeadline) ? idleDeadline : absoluteDeadline;
+
+        if (!deadline.isAfter(now)) {
+            remove(userId);
+            return false;
+        }
+
+        long sessionStartNanos = ticker.read() - Duration.between(startedAt, now).toNanos();
+        TokenEntry entry = new TokenEntry(tokenResponse, expiresAt, sessionStartNanos,
+                estimateBytes(userId, tokenResponse));
+        TokenEntry previous = tokenStore.policy().expireVariably().orElseThrow()
+                .put(userId, entry, Duration.between(now, deadline));
+        estimatedBytes.add(entry.bytes() - (previous != null ? previous.bytes() : 0));
+        return true;
+    }
+
+    Instant getStartedAt(String userId) {
+        TokenEntry entry = peek(userId);
+        return entry != null ? clock.instant().minusNanos(ticker.read() - entry.sessionStartNanos()) : null;
+    }
+
+    // The session ends idleTtl after its last access unless the absolute TTL ends it first, so this reproduces the
+    // same deadline either way
+    @Override
+    public Instant getLastAccessAt(String userId) {
+        return tokenStore.policy().expireVariably().orElseThrow().getExpiresAfter(userId)
+                .map(remaining -> clock.instant().plus(remaining).minus(idleTtl))
+                .orElse(null);
+    }
+
+    Set<String> getUserIds() {
+        return tokenStore.asMap().keySet();
+    }
+
+    void cleanUp() {
+        tokenStore.cleanUp();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tokenStore, "spotify.token-store");
+        Gauge.builder("spotify.token-store.estimated.bytes", estimatedBytes, LongAdder::sum)
+                .description("Approximate heap held by stored sessions")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    long getEstimatedBytes() {
+        return estimatedBytes.sum();
+    }
+
+    private void remove(String userId) {
+        TokenEntry removed = tokenStore.asMap().remove(userId);
+        if (removed != null) {
+            estimatedBytes.add(-removed.bytes());
+        }
+    }
+
+    // Reads used by background work must not keep an abandoned session alive
+    private TokenEntry peek(String userId) {
+        return tokenStore.policy().getIfPresentQuietly(Objects.requireNonNull(userId));
+    }
+
+    private Instant computeExpiresAt(SpotifyTokenResponse tokenResponse) {
+        if (tokenResponse.getExpiresIn() <= 0) {
+            return Instant.MAX;
+        }
+        return clock.instant().plusSeconds(tokenResponse.getExpiresIn());
+    }
+
+    private static long estimateBytes(String userId, SpotifyTokenResponse token) {
+        return ENTRY_OVERHEAD_BYTES + stringBytes(userId) + stringBytes(token.getAccessToken())
+                + stringBytes(token.getRefreshToken()) + stringBytes(token.getTokenType())
+                + stringBytes(token.getScope());
+    }
+
+    private static long stringBytes(String value) {
+        return value != null ? 40 + value.length() : 0;
+    }
+
+    // bytes is fixed when the entry is created so the running total subtracts exactly what it added
+    private record TokenEntry(SpotifyTokenResponse token, Instant expiresAt, long sessionStartNanos, long bytes) {
+    }
+
+    // Idle timeout restarts on getToken; token refreshes keep the remaining time; no session outlives the absolute TTL
+    private static final class SessionExpiry implements Expiry<String, TokenEntry> {
+        private final long idleNanos;
+        private final long absoluteNanos;
+
+        private SessionExpiry(long idleNanos, long absoluteNanos) {
+            this.idleNanos = idleNanos;
+            this.absoluteNanos = absoluteNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, TokenEntry entry, long currentTime) {
+            return Math.min(idleNanos, remainingAbsolute(entry, currentTime));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenEntry entry, long currentTime, long currentDuration) {
+            return Math.min(currentDuration, remainingAbsolute(entry, currentTime));
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenEntry entry, long currentTime, long currentDuration) {
+            return Math.min(idleNanos, remainingAbsolute(entry, currentTime));
+        }
+
+        private long remainingAbsolute(TokenEntry entry, long currentTime) {
+            return Math.max(0, absoluteNanos - (currentTime - entry.sessionStartNanos()));
+        }
+    }
+}
@@ -0,0 +1,592 @@
+package com.example.spotify_app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.spotify_app.config.TokenStoreConfig;
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+// Keys are the two halves of the UUID session id and token strings live in direct buffers, so millions of
+// sessions cost a few primitive arrays on the heap instead of millions of objects
+@Component
+@ConditionalOnProperty(name = "spotify.token-store.type", havingValue = "off-heap")
+public class OffHeapTokenStore implements TokenStore, MeterBinder {
+
+    private static final int SEGMENT_BITS = 6;
+    private static final int INITIAL_SLOTS = 64;
+    private static final int INITIAL_ARENA_BYTES = 16 * 1024;
+    private static final int EVICTION_SAMPLES = 8;
+    private static final long SWEEP_INTERVAL_SECONDS = 60;
+    private static final int EMPTY = -1;
+
+    // Record layout: fixed header followed by length-prefixed access and refresh token bytes
+    private static final int EXPIRES_AT = 0;
+    private static final int STARTED_AT = 8;
+    private static final int IDLE_DEADLINE = 16;
+    private static final int EXPIRES_IN = 24;
+    private static final int TOKEN_TYPE = 28;
+    private static final int SCOPE = 32;
+    private static final int HEADER_BYTES = 36;
+
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+    private final Interner interner = new Interner();
+    private final LongAdder evictions = new LongAdder();
+    private final Clock clock;
+    private final Ticker ticker;
+    private final long idleNanos;
+    private final long absoluteNanos;
+    private final long maxEntriesPerSegment;
+    private final ScheduledExecutorService sweeper;
+
+    @Autowired
+    public OffHeapTokenStore(TokenStoreConfig storeConfig) {
+        this(Duration.ofSeconds(storeConfig.getIdleTtlSeconds()),
+                Duration.ofSeconds(storeConfig.getAbsoluteTtlSeconds()), storeConfig.getMaxEntries(),
+                Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    OffHeapTokenStore(Duration idleTtl, Duration absoluteTtl, long maxEntries, Clock clock, Ticker ticker) {
+        this.clock = clock;
+        this.ticker = ticker;
+        this.idleNanos = idleTtl.toNanos();
+        this.absoluteNanos = absoluteTtl.toNanos();
+        this.maxEntriesPerSegment = Math.max(1, maxEntries >> SEGMENT_BITS);
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-store-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void saveToken(String userId, SpotifyTokenResponse tokenResponse) {
+        Objects.requireNonNull(tokenResponse);
+        if (!isSessionId(Objects.requireNonNull(userId))) {
+            throw new IllegalArgumentException("Not a session id: " + userId);
+        }
+        long msb = parseHex(userId, 0, 18);
+        long lsb = parseHex(userId, 19, 36);
+        long expiresAt = tokenResponse.getExpiresIn() > 0
+                ? clock.instant().plusSeconds(tokenResponse.getExpiresIn()).getEpochSecond()
+                : Instant.MAX.getEpochSecond();
+        Segment segment = segmentFor(msb, lsb);
+
+        synchronized (segment) {
+            long now = ticker.read();
+            int slot = segment.find(msb, lsb);
+            long startedAt = now;
+            long idleDeadline = now + Math.min(idleNanos, absoluteNanos);
+
+            // A refresh keeps the session's start and remaining idle time
+            if (slot != EMPTY && isLive(segment, slot, now)) {
+                startedAt = segment.arena.getLong(segment.offsets[slot] + STARTED_AT);
+                idleDeadline = segment.arena.getLong(segment.offsets[slot] + IDLE_DEADLINE);
+            } else if (slot != EMPTY) {
+                segment.remove(slot);
+                slot = EMPTY;
+            }
+
+            int offset = writeRecord(segment, tokenResponse, expiresAt, startedAt, idleDeadline);
+            if (slot != EMPTY) {
+                segment.garbageBytes += recordLength(segment.arena, segment.offsets[slot]);
+                segment.offsets[slot] = offset;
+            } else {
+                if (segment.size >= maxEntriesPerSegment) {
+                    evict(segment);
+                }
+                segment.insert(msb, lsb, offset);
+            }
+        }
+    }
+
+    // Counts as session activity and pushes back the idle timeout
+    @Override
+    public SpotifyTokenResponse getToken(String userId) {
+        return read(userId, true);
+    }
+
+    @Override
+    public SpotifyTokenResponse peekToken(String userId) {
+        return read(userId, false);
+    }
+
+    @Override
+    public void removeToken(String userId) {
+        if (!isSessionId(Objects.requireNonNull(userId))) {
+            return;
+        }
+        long msb = parseHex(userId, 0, 18);
+        long lsb = parseHex(userId, 19, 36);
+        Segment segment = segmentFor(msb, lsb);
+
+        synchronized (segment) {
+            int slot = segment.find(msb, lsb);
+            if (slot != EMPTY) {
+                segment.remove(slot);
+            }
+        }
+    }
+
+    @Override
+    public Instant getExpiresAt(String userId) {
+        if (!isSessionId(Objects.requireNonNull(userId))) {
+            return null;
+        }
+        long msb = parseHex(userId, 0, 18);
+        long lsb = parseHex(userId, 19, 36);
+        Segment segment = segmentFor(msb, lsb);
+
+        synchronized (segment) {
+            int slot = segment.find(msb, lsb);
+            if (slot == EMPTY || !isLive(segment, slot, ticker.read())) {
+                return null;
+            }
+            return expiresAt(segment.arena.getLong(segment.offsets[slot] + EXPIRES_AT));
+        }
+    }
+
+    @Override
+    public boolean isExpired(String userId) {
+        Instant expiresAt = getExpiresAt(userId);
+        return expiresAt != null && !clock.instant().isBefore(expiresAt);
+    }
+
+    // Derived from the idle deadline, so near the absolute TTL it reads earlier than the real last access
+    @Override
+    public Instant getLastAccessAt(String userId) {
+        if (!isSessionId(Objects.requireNonNull(userId))) {
+            return null;
+        }
+        long msb = parseHex(userId, 0, 18);
+        long lsb = parseHex(userId, 19, 36);
+        Segment segment = segmentFor(msb, lsb);
+
+        synchronized (segment) {
+            int slot = segment.find(msb, lsb);
+            long now = ticker.read();
+            if (slot == EMPTY || !isLive(segment, slot, now)) {
+                return null;
+            }
+            long idleDeadline = segment.arena.getLong(segment.offsets[slot] + IDLE_DEADLINE);
+            return clock.instant().minusNanos(now - (idleDeadline - idleNanos));
+        }
+    }
+
+    @Override
+    public List<String> findUserIdsExpiringBefore(Instant deadline) {
+        Instant now = clock.instant();
+        List<Expiring> expiring = new ArrayList<>();
+
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                long nowNanos = ticker.read();
+                for (int slot = 0; slot < segment.offsets.length; slot++) {
+                    if (segment.offsets[slot] == EMPTY || !isLive(segment, slot, nowNanos)) {
+                        continue;
+                    }
+                    Instant expiresAt = expiresAt(segment.arena.getLong(segment.offsets[slot] + EXPIRES_AT));
+                    if (expiresAt.isAfter(now) && expiresAt.isBefore(deadline)) {
+                        expiring.add(new Expiring(segment.keys[2 * slot], segment.keys[2 * slot + 1], expiresAt));
+                    }
+                }
+            }
+        }
+
+        return expiring.stream()
+                .sorted(Comparator.comparing(Expiring::expiresAt))
+                .map(e -> new UUID(e.msb(), e.lsb()).toString())
+                .toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("spotify.token-store.sessions", this, OffHeapTokenStore::size)
+                .description("Sessions held by the off-heap token store")
+                .register(registry);
+        Gauge.builder("spotify.token-store.off-heap.bytes", this, OffHeapTokenStore::offHeapBytes)
+                .description("Direct memory reserved for stored tokens")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("spotify.token-store.evictions", evictions, LongAdder::sum)
+                .description("Sessions evicted to stay within max-entries")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    // Drops expired sessions and gives back arena space they held
+    void sweep() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                long now = ticker.read();
+                int slot = 0;
+                while (slot < segment.offsets.length) {
+                    if (segment.offsets[slot] != EMPTY && !isLive(segment, slot, now)) {
+                        // Backward-shift deletion may pull a later entry into this slot, so look at it again
+                        segment.remove(slot);
+                    } else {
+                        slot++;
+                    }
+                }
+                if (segment.garbageBytes > segment.arenaEnd / 2) {
+                    segment.relocate(0);
+                }
+            }
+        }
+    }
+
+    long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    long offHeapBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                bytes += segment.arena.capacity();
+            }
+        }
+        return bytes;
+    }
+
+    private SpotifyTokenResponse read(String userId, boolean touch) {
+        if (!isSessionId(Objects.requireNonNull(userId))) {
+            return null;
+        }
+        long msb = parseHex(userId, 0, 18);
+        long lsb = parseHex(userId, 19, 36);
+        Segment segment = segmentFor(msb, lsb);
+
+        synchronized (segment) {
+            int slot = segment.find(msb, lsb);
+            if (slot == EMPTY) {
+                return null;
+            }
+            long now = ticker.read();
+            if (!isLive(segment, slot, now)) {
+                segment.remove(slot);
+                return null;
+            }
+
+            int offset = segment.offsets[slot];
+            if (touch) {
+                long absoluteDeadline = segment.arena.getLong(offset + STARTED_AT) + absoluteNanos;
+                segment.arena.putLong(offset + IDLE_DEADLINE,
+                        absoluteDeadline - now < idleNanos ? absoluteDeadline : now + idleNanos);
+            }
+            return readRecord(segment.arena, offset);
+        }
+    }
+
+    private boolean isLive(Segment segment, int slot, long now) {
+        return now - segment.arena.getLong(segment.offsets[slot] + IDLE_DEADLINE) < 0;
+    }
+
+    // Approximates LRU by dropping the least recently used of a few sampled sessions
+    private void evict(Segment segment) {
+        int mask = segment.offsets.length - 1;
+        int start = ThreadLocalRandom.current().nextInt(segment.offsets.length);
+        int victim = EMPTY;
+        long oldestDeadline = Long.MAX_VALUE;
+
+        for (int i = 0, sampled = 0; i < segment.offsets.length && sampled < EVICTION_SAMPLES; i++) {
+            int slot = (start + i) & mask;
+            if (segment.offsets[slot] == EMPTY) {
+                continue;
+            }
+            sampled++;
+            long idleDeadline = segment.arena.getLong(segment.offsets[slot] + IDLE_DEADLINE);
+            if (victim == EMPTY || idleDeadline - oldestDeadline < 0) {
+                victim = slot;
+                oldestDeadline = idleDeadline;
+            }
+        }
+
+        if (victim != EMPTY) {
+            segment.remove(victim);
+            evictions.increment();
+        }
+    }
+
+    private int writeRecord(Segment segment, SpotifyTokenResponse token, long expiresAt, long startedAt,
+            long idleDeadline) {
+        byte[] accessToken = encode(token.getAccessToken());
+        byte[] refreshToken = encode(token.getRefreshToken());
+        int length = HEADER_BYTES + 4 + (accessToken != null ? accessToken.length : 0)
+                + 4 + (refreshToken != null ? refreshToken.length : 0);
+
+        int offset = segment.allocate(length);
+        ByteBuffer arena = segment.arena;
+        arena.putLong(offset + EXPIRES_AT, expiresAt);
+        arena.putLong(offset + STARTED_AT, startedAt);
+        arena.putLong(offset + IDLE_DEADLINE, idleDeadline);
+        arena.putInt(offset + EXPIRES_IN, token.getExpiresIn());
+        arena.putInt(offset + TOKEN_TYPE, interner.intern(token.getTokenType()));
+        arena.putInt(offset + SCOPE, interner.intern(token.getScope()));
+        int position = putBytes(arena, offset + HEADER_BYTES, accessToken);
+        putBytes(arena, position, refreshToken);
+        return offset;
+    }
+
+    private SpotifyTokenResponse readRecord(ByteBuffer arena, int offset) {
+        int accessLength = arena.getInt(offset + HEADER_BYTES);
+        int refreshPosition = offset + HEADER_BYTES + 4 + Math.max(0, accessLength);
+
+        return new SpotifyTokenResponse(
+                getString(arena, offset + HEADER_BYTES),
+                interner.get(arena.getInt(offset + TOKEN_TYPE)),
+                getString(arena, refreshPosition),
+                arena.getInt(offset + EXPIRES_IN),
+                interner.get(arena.getInt(offset + SCOPE)));
+    }
+
+    // Expiry is kept in whole seconds; tokens without expires_in never expire
+    private static Instant expiresAt(long epochSecond) {
+        return epochSecond == Instant.MAX.getEpochSecond() ? Instant.MAX : Instant.ofEpochSecond(epochSecond);
+    }
+
+    private static int recordLength(ByteBuffer arena, int offset) {
+        int accessLength = Math.max(0, arena.getInt(offset + HEADER_BYTES));
+        int refreshLength = Math.max(0, arena.getInt(offset + HEADER_BYTES + 4 + accessLength));
+        return HEADER_BYTES + 4 + accessLength + 4 + refreshLength;
+    }
+
+    private static byte[] encode(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int putBytes(ByteBuffer arena, int position, byte[] value) {
+        if (value == null) {
+            arena.putInt(position, -1);
+            return position + 4;
+        }
+        arena.putInt(position, value.length);
+        arena.put(position + 4, value);
+        return position + 4 + value.length;
+    }
+
+    private static String getString(ByteBuffer arena, int position) {
+        int length = arena.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        arena.get(position + 4, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private Segment segmentFor(long msb, long lsb) {
+        return segments[(int) (hash(msb, lsb) >>> (64 - SEGMENT_BITS))];
+    }
+
+    private static long hash(long msb, long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        return h ^ (h >>> 29);
+    }
+
+    // Only the lowercase canonical form UserIdGenerator produces, so the id round-trips through UUID.toString()
+    private static boolean isSessionId(String userId) {
+        if (userId.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = userId.charAt(i);
+            boolean valid = i == 8 || i == 13 || i == 18 || i == 23
+                    ? c == '-'
+                    : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseHex(String userId, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            char c = userId.charAt(i);
+            if (c != '-') {
+                value = value << 4 | Character.digit(c, 16);
+            }
+        }
+        return value;
+    }
+
+    private record Expiring(long msb, long lsb, Instant expiresAt) {
+    }
+
+    // Open-addressed table of key halves pointing into an append-only direct buffer; guarded by its own monitor
+    private static final class Segment {
+        private long[] keys = new long[2 * INITIAL_SLOTS];
+        private int[] offsets = newOffsets(INITIAL_SLOTS);
+        private int size;
+        private ByteBuffer arena = ByteBuffer.allocateDirect(INITIAL_ARENA_BYTES);
+        private int arenaEnd;
+        private int garbageBytes;
+
+        private int find(long msb, long lsb) {
+            int mask = offsets.length - 1;
+            for (int slot = home(msb, lsb, mask); offsets[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[2 * slot] == msb && keys[2 * slot + 1] == lsb) {
+                    return slot;
+                }
+            }
+            return EMPTY;
+        }
+
+        private void insert(long msb, long lsb, int offset) {
+            if ((size + 1) * 4L > offsets.length * 3L) {
+                resize();
+            }
+            int mask = offsets.length - 1;
+            int slot = home(msb, lsb, mask);
+            while (offsets[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[2 * slot] = msb;
+            keys[2 * slot + 1] = lsb;
+            offsets[slot] = offset;
+            size++;
+        }
+
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        private void remove(int slot) {
+            garbageBytes += recordLength(arena, offsets[slot]);
+            size--;
+
+            int mask = offsets.length - 1;
+            int gap = slot;
+            for (int next = (gap + 1) & mask; offsets[next] != EMPTY; next = (next + 1) & mask) {
+                int home = home(keys[2 * next], keys[2 * next + 1], mask);
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[2 * gap] = keys[2 * next];
+                    keys[2 * gap + 1] = keys[2 * next + 1];
+                    offsets[gap] = offsets[next];
+                    gap = next;
+                }
+            }
+            offsets[gap] = EMPTY;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldOffsets = offsets;
+            keys = new long[oldKeys.length * 2];
+            offsets = newOffsets(oldOffsets.length * 2);
+            size = 0;
+            for (int slot = 0; slot < oldOffsets.length; slot++) {
+                if (oldOffsets[slot] != EMPTY) {
+                    insert(oldKeys[2 * slot], oldKeys[2 * slot + 1], oldOffsets[slot]);
+                }
+            }
+        }
+
+        private int allocate(int length) {
+            if (arenaEnd + length > arena.capacity()) {
+                relocate(length);
+            }
+            int offset = arenaEnd;
+            arenaEnd += length;
+            return offset;
+        }
+
+        // Copies live records into a fresh buffer with 50% headroom; the old one is freed by GC
+        private void relocate(int extraBytes) {
+            long needed = (long) arenaEnd - garbageBytes + extraBytes;
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(INITIAL_ARENA_BYTES, needed + needed / 2));
+            ByteBuffer relocated = ByteBuffer.allocateDirect(capacity);
+
+            int position = 0;
+            for (int slot = 0; slot < offsets.length; slot++) {
+                if (offsets[slot] != EMPTY) {
+                    int length = recordLength(arena, offsets[slot]);
+                    relocated.put(position, arena, offsets[slot], length);
+                    offsets[slot] = position;
+                    position += length;
+                }
+            }
+
+            arena = relocated;
+            arenaEnd = position;
+            garbageBytes = 0;
+        }
+
+        private static int home(long msb, long lsb, int mask) {
+            return (int) hash(msb, lsb) & mask;
+        }
+
+        private static int[] newOffsets(int slots) {
+            int[] offsets = new int[slots];
+            Arrays.fill(offsets, EMPTY);
+            return offsets;
+        }
+    }
+
+    // scope and token_type take a handful of distinct values across all users
+    private static final class Interner {
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private volatile String[] values = new String[0];
+
+        private int intern(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            synchronized (this) {
+                return ids.computeIfAbsent(value, key -> {
+                    String[] grown = Arrays.copyOf(values, values.length + 1);
+                    grown[values.length] = key;
+                    values = grown;
+                    return grown.length - 1;
+                });
+            }
+        }
+
+        private String get(int id) {
+            return id >= 0 ? values[id] : null;
+        }
+    }
+}
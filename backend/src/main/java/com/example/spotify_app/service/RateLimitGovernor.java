@@ -0,0 +1,161 @@
+package com.example.spotify_app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.spotify_app.config.RateLimitConfig;
+
+@Component
+public class RateLimitGovernor implements MeterBinder {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long maxQueueWaitMillis;
+    private final int maxQueueDepth;
+    private final Clock clock;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong throttledMillis = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+
+    private double storedPermits;
+    private long nextFreeMillis;
+    private long blockedUntilMillis;
+
+    @Autowired
+    public RateLimitGovernor(RateLimitConfig rateLimitConfig) {
+        this(rateLimitConfig, Clock.systemUTC());
+    }
+
+    RateLimitGovernor(RateLimitConfig rateLimitConfig, Clock clock) {
+        this.permitsPerSecond = rateLimitConfig.getPermitsPerSecond();
+        this.burst = Math.max(1, rateLimitConfig.getBurst());
+        this.maxQueueWaitMillis = TimeUnit.SECONDS.toMillis(rateLimitConfig.getMaxQueueWaitSeconds());
+        this.maxQueueDepth = rateLimitConfig.getMaxQueueDepth();
+        this.clock = clock;
+        this.storedPermits = burst;
+        this.nextFreeMillis = clock.millis();
+    }
+
+    public Admission admit(Executor executor) {
+        long delayMillis;
+
+        synchronized (this) {
+            long now = clock.millis();
+            resync(now);
+
+            long waitMillis = Math.max(0, nextFreeMillis - now);
+            boolean windowTooLong = waitMillis > maxQueueWaitMillis;
+            boolean queueFull = waitMillis > 0 && queueDepth.get() >= maxQueueDepth;
+
+            if (windowTooLong || queueFull) {
+                rejectedCount.incrementAndGet();
+                return new Admission(false, null, waitMillis);
+            }
+
+            reservePermit();
+            delayMillis = waitMillis;
+
+            if (delayMillis > 0) {
+                queueDepth.incrementAndGet();
+            }
+        }
+
+        if (delayMillis == 0) {
+            return new Admission(true, executor, 0);
+        }
+
+        throttledMillis.addAndGet(delayMillis);
+        Executor delayed = CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, executor);
+        Executor queued = task -> delayed.execute(() -> {
+            queueDepth.decrementAndGet();
+            task.run();
+        });
+        return new Admission(true, queued, delayMillis);
+    }
+
+    public synchronized void blockFor(long seconds) {
+        rateLimitedCount.incrementAndGet();
+        long until = clock.millis() + TimeUnit.SECONDS.toMillis(seconds);
+
+        if (until > blockedUntilMillis) {
+            blockedUntilMillis = until;
+        }
+
+        // Nothing is sent before the window closes, and permits only accrue again from that point
+        if (until > nextFreeMillis) {
+            nextFreeMillis = until;
+        }
+        storedPermits = 0;
+    }
+
+    public synchronized long getBlockedRemainingMillis() {
+        return Math.max(0, blockedUntilMillis - clock.millis());
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("spotify.ratelimit.queue.depth", queueDepth, AtomicInteger::get)
+                .description("Outbound Spotify calls waiting for a rate-limit permit")
+                .register(registry);
+        Gauge.builder("spotify.ratelimit.blocked.remaining", this, g -> g.getBlockedRemainingMillis() / 1000.0)
+                .baseUnit("seconds")
+                .description("Time left in the current Retry-After window")
+                .register(registry);
+        FunctionCounter.builder("spotify.ratelimit.throttled.time", throttledMillis, m -> m.get() / 1000.0)
+                .baseUnit("seconds")
+                .description("Total time outbound calls spent queued by the governor")
+                .register(registry);
+        FunctionCounter.builder("spotify.ratelimit.rejected", rejectedCount, AtomicLong::get)
+                .description("Outbound calls failed fast instead of queued")
+                .register(registry);
+        FunctionCounter.builder("spotify.ratelimit.responses", rateLimitedCount, AtomicLong::get)
+                .description("429 responses received from Spotify")
+                .register(registry);
+    }
+
+    private void resync(long now) {
+        if (now <= nextFreeMillis) {
+            return;
+        }
+
+        if (permitsPerSecond > 0) {
+            double accrued = (now - nextFreeMillis) * permitsPerSecond / 1000.0;
+            storedPermits = Math.min(burst, storedPermits + accrued);
+        }
+        nextFreeMillis = now;
+    }
+
+    private void reservePermit() {
+        if (permitsPerSecond <= 0) {
+            return;
+        }
+
+        double fromStored = Math.min(1, storedPermits);
+        storedPermits -= fromStored;
+        nextFreeMillis += (long) Math.ceil((1 - fromStored) * 1000 / permitsPerSecond);
+    }
+
+    public record Admission(boolean granted, Executor executor, long delayMillis) {
+
+        public long retryAfterSeconds() {
+            return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(delayMillis + 999));
+        }
+    }
+}
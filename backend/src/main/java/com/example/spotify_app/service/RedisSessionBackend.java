@@ -0,0 +1,143 @@
+package com.example.spotify_app.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PreDestroy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.example.spotify_app.config.TokenStoreConfig;
+
+@Component
+@ConditionalOnProperty(name = "spotify.token-store.type", havingValue = "shared")
+public class RedisSessionBackend implements SharedSessionBackend {
+
+    private static final RedisScript<Long> RELEASE_IF_OWNER = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String keyPrefix;
+    private final String expiryIndexKey;
+    private final ChannelTopic channel;
+
+    public RedisSessionBackend(StringRedisTemplate redis, RedisConnectionFactory connectionFactory,
+            TokenStoreConfig storeConfig) {
+        this.redis = redis;
+        this.keyPrefix = storeConfig.getSharedKeyPrefix();
+        this.expiryIndexKey = keyPrefix + "expiries";
+        this.channel = new ChannelTopic(storeConfig.getSharedChannel());
+
+        this.listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @Override
+    public String read(String userId, Duration ttl) {
+        return redis.opsForValue().getAndExpire(sessionKey(userId), ttl);
+    }
+
+    @Override
+    public String peek(String userId) {
+        return redis.opsForValue().get(sessionKey(userId));
+    }
+
+    @Override
+    public Duration timeToLive(String userId) {
+        Long millis = redis.getExpire(sessionKey(userId), TimeUnit.MILLISECONDS);
+        return millis != null && millis >= 0 ? Duration.ofMillis(millis) : null;
+    }
+
+    @Override
+    public void create(String userId, String session, Instant tokenExpiresAt, Duration ttl) {
+        redis.opsForValue().set(sessionKey(userId), session, ttl);
+        redis.opsForZSet().add(expiryIndexKey, userId, tokenExpiresAt.getEpochSecond());
+    }
+
+    @Override
+    public boolean update(String userId, String session, Instant tokenExpiresAt) {
+        byte[] key = sessionKey(userId).getBytes(StandardCharsets.UTF_8);
+        byte[] value = session.getBytes(StandardCharsets.UTF_8);
+
+        // SET XX KEEPTTL: a session that expired in the meantime is not brought back without a TTL
+        Boolean updated = redis.execute(connection -> connection.stringCommands()
+                .set(key, value, Expiration.keepTtl(), SetOption.ifPresent()), true);
+        if (!Boolean.TRUE.equals(updated)) {
+            return false;
+        }
+
+        redis.opsForZSet().add(expiryIndexKey, userId, tokenExpiresAt.getEpochSecond());
+        return true;
+    }
+
+    @Override
+    public void delete(String userId) {
+        redis.delete(sessionKey(userId));
+        redis.opsForZSet().remove(expiryIndexKey, userId);
+    }
+
+    @Override
+    public List<String> findUserIdsExpiringBetween(Instant from, Instant to) {
+        // Tokens already past expiry are refreshed on demand and re-indexed when saved
+        redis.opsForZSet().removeRangeByScore(expiryIndexKey, Double.NEGATIVE_INFINITY, from.getEpochSecond());
+
+        Set<String> userIds = redis.opsForZSet().rangeByScore(expiryIndexKey, from.getEpochSecond() + 1,
+                to.getEpochSecond() - 1);
+        return userIds != null ? new ArrayList<>(userIds) : List.of();
+    }
+
+    @Override
+    public boolean acquireRefreshLock(String userId, String owner, Duration ttl) {
+        // SET NX PX: the lock lapses on its own if the holder dies mid-refresh
+        return Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(refreshLockKey(userId), owner, ttl));
+    }
+
+    @Override
+    public void releaseRefreshLock(String userId, String owner) {
+        // A holder whose lock already lapsed must not release the next holder's
+        redis.execute(RELEASE_IF_OWNER, List.of(refreshLockKey(userId)), owner);
+    }
+
+    @Override
+    public void publish(String message) {
+        redis.convertAndSend(channel.getTopic(), message);
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                channel);
+    }
+
+    @PreDestroy
+    public void close() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    private String sessionKey(String userId) {
+        return keyPrefix + userId;
+    }
+
+    private String refreshLockKey(String userId) {
+        return keyPrefix + "refresh:" + userId;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.spotify_app.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+// The store every backend node shares; values are opaque serialized sessions
+public interface SharedSessionBackend {
+
+    // Reads a session and pushes its expiry back to ttl
+    String read(String userId, Duration ttl);
+
+    String peek(String userId);
+
+    // Time left before the session's key expires, or null if it no longer exists
+    Duration timeToLive(String userId);
+
+    void create(String userId, String session, Instant tokenExpiresAt, Duration ttl);
+
+    // Replaces a session but keeps its remaining time to live; false if it no longer exists
+    boolean update(String userId, String session, Instant tokenExpiresAt);
+
+    void delete(String userId);
+
+    List<String> findUserIdsExpiringBetween(Instant from, Instant to);
+
+    // Short lease on refreshing a user's token; false while another owner holds it
+    boolean acquireRefreshLock(String userId, String owner, Duration ttl);
+
+    // Only releases the lock if the owner still holds it
+    void releaseRefreshLock(String userId, String owner);
+
+    void publish(String message);
+
+    void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,205 @@
+package com.example.spotify_app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.example.spotify_app.config.TokenStoreConfig;
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+@Component
+@ConditionalOnProperty(name = "spotify.token-store.type", havingValue = "shared")
+public class SharedTokenStore implements TokenStore, MeterBinder {
+
+    private final SharedSessionBackend backend;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Duration idleTtl;
+    private final Duration absoluteTtl;
+    private final Duration refreshLockTtl;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Cache<String, Session> nearCache;
+
+    @Autowired
+    public SharedTokenStore(SharedSessionBackend backend, TokenStoreConfig storeConfig, ObjectMapper objectMapper) {
+        this(backend, storeConfig, objectMapper, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    SharedTokenStore(SharedSessionBackend backend, TokenStoreConfig storeConfig, ObjectMapper objectMapper,
+            Clock clock, Ticker ticker) {
+        this.backend = backend;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.idleTtl = Duration.ofSeconds(storeConfig.getIdleTtlSeconds());
+        this.absoluteTtl = Duration.ofSeconds(storeConfig.getAbsoluteTtlSeconds());
+        this.refreshLockTtl = Duration.ofSeconds(storeConfig.getSharedRefreshLockSeconds());
+        // The short TTL bounds staleness if an invalidation message is lost
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(storeConfig.getSharedNearCacheMaxEntries())
+                .expireAfterWrite(Duration.ofSeconds(storeConfig.getSharedNearCacheTtlSeconds()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+
+        backend.subscribe(this::onInvalidation);
+    }
+
+    // Every change is announced so other nodes drop their near-cached copy
+    @Override
+    public void saveToken(String userId, SpotifyTokenResponse tokenResponse) {
+        Objects.requireNonNull(userId);
+        Objects.requireNonNull(tokenResponse);
+        Instant now = clock.instant();
+        Instant expiresAt = tokenResponse.getExpiresIn() > 0
+                ? now.plusSeconds(tokenResponse.getExpiresIn())
+                : Instant.MAX;
+
+        Session current = decode(backend.peek(userId));
+        Session session;
+        if (current != null && isLive(current, now)) {
+            session = new Session(tokenResponse, expiresAt.getEpochSecond(), current.startedAt());
+            if (!backend.update(userId, encode(session), expiresAt)) {
+                session = create(userId, tokenResponse, expiresAt, now);
+            }
+        } else {
+            session = create(userId, tokenResponse, expiresAt, now);
+        }
+
+        nearCache.put(userId, session);
+        backend.publish(nodeId + ":" + userId);
+    }
+
+    @Override
+    public SpotifyTokenResponse getToken(String userId) {
+        Session session = nearCache.get(Objects.requireNonNull(userId), this::load);
+        if (session != null && !isLive(session, clock.instant())) {
+            nearCache.invalidate(userId);
+            return null;
+        }
+        return session != null ? session.token() : null;
+    }
+
+    // Always asks the shared store, so a refresh done by another node is seen straight away
+    @Override
+    public SpotifyTokenResponse peekToken(String userId) {
+        Session session = peek(userId);
+        return session != null ? session.token() : null;
+    }
+
+    @Override
+    public void removeToken(String userId) {
+        backend.delete(Objects.requireNonNull(userId));
+        nearCache.invalidate(userId);
+        backend.publish(nodeId + ":" + userId);
+    }
+
+    @Override
+    public Instant getExpiresAt(String userId) {
+        Session session = nearCache.getIfPresent(Objects.requireNonNull(userId));
+        if (session == null) {
+            session = peek(userId);
+        }
+        return session != null ? Instant.ofEpochSecond(session.expiresAt()) : null;
+    }
+
+    @Override
+    public boolean isExpired(String userId) {
+        Instant expiresAt = getExpiresAt(userId);
+        return expiresAt != null && !clock.instant().isBefore(expiresAt);
+    }
+
+    // Reads reset the key's TTL to idleTtl, so the time left tells when the session was last read
+    @Override
+    public Instant getLastAccessAt(String userId) {
+        Duration timeToLive = backend.timeToLive(Objects.requireNonNull(userId));
+        return timeToLive != null ? clock.instant().plus(timeToLive).minus(idleTtl) : null;
+    }
+
+    @Override
+    public List<String> findUserIdsExpiringBefore(Instant deadline) {
+        return backend.findUserIdsExpiringBetween(clock.instant(), deadline);
+    }
+
+    // Spotify may revoke the old refresh token once it issues a new one, so two nodes must not both use it
+    @Override
+    public boolean tryLockRefresh(String userId) {
+        return backend.acquireRefreshLock(Objects.requireNonNull(userId), nodeId, refreshLockTtl);
+    }
+
+    @Override
+    public void unlockRefresh(String userId) {
+        backend.releaseRefreshLock(Objects.requireNonNull(userId), nodeId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, nearCache, "spotify.token-store.near");
+    }
+
+    private Session create(String userId, SpotifyTokenResponse tokenResponse, Instant expiresAt, Instant now) {
+        Session session = new Session(tokenResponse, expiresAt.getEpochSecond(), now.getEpochSecond());
+        backend.create(userId, encode(session), expiresAt,
+                idleTtl.compareTo(absoluteTtl) < 0 ? idleTtl : absoluteTtl);
+        return session;
+    }
+
+    private Session load(String userId) {
+        return decode(backend.read(userId, idleTtl));
+    }
+
+    private Session peek(String userId) {
+        Session session = decode(backend.peek(Objects.requireNonNull(userId)));
+        return session != null && isLive(session, clock.instant()) ? session : null;
+    }
+
+    // The idle TTL lives on the shared key; the absolute limit is checked here since reads keep extending it
+    private boolean isLive(Session session, Instant now) {
+        return now.isBefore(Instant.ofEpochSecond(session.startedAt()).plus(absoluteTtl));
+    }
+
+    private void onInvalidation(String message) {
+        int separator = message.indexOf(':');
+        if (separator > 0 && !message.substring(0, separator).equals(nodeId)) {
+            nearCache.invalidate(message.substring(separator + 1));
+        }
+    }
+
+    private String encode(Session session) {
+        try {
+            return objectMapper.writeValueAsString(session);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize session", e);
+        }
+    }
+
+    private Session decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, Session.class);
+        } catch (JsonProcessingException e) {
+            System.err.println("Ignoring unreadable shared session: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Times are epoch seconds
+    private record Session(SpotifyTokenResponse token, long expiresAt, long startedAt) {
+    }
+}
@@ -1,116 +1,325 @@
-package com.example.spotify_app.service;
-
-import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpStatus;
-
-import com.example.spotify_app.config.SpotifyConfig;
-import com.example.spotify_app.config.RetryConfig;
-import com.example.spotify_app.model.SpotifyTokenResponse;
-import com.example.spotify_app.util.RetryUtils;
-
-@Service
-public class SpotifyApiClient {
-    private final SpotifyConfig spotifyConfig;
-    private final RetryConfig retryConfig;
-    private final RetryUtils retryUtils;
-    private final TokenStore tokenStore;
-    private final SpotifyOAuthService oauthService;
-    private final RestClient restClient;
-
-    public SpotifyApiClient(TokenStore tokenStore, SpotifyConfig spotifyConfig, RetryConfig retryConfig,
-            RetryUtils retryUtils, SpotifyOAuthService oauthService) {
-        this.spotifyConfig = spotifyConfig;
-        this.retryConfig = retryConfig;
-        this.retryUtils = retryUtils;
-        this.tokenStore = tokenStore;
-        this.oauthService = oauthService;
-        this.restClient = RestClient.create();
-    }
-
-    public String getValidAccessToken(String userId) {
-        SpotifyTokenResponse tokenResponse = tokenStore.getToken(userId);
-
-        if (tokenResponse == null || tokenResponse.getAccessToken() == null
-                || tokenResponse.getAccessToken().isEmpty()) {
-            return null;
-        }
-
-        return tokenResponse.getAccessToken();
-    }
-
-    private <T> ResponseEntity<T> executeRequest(String apiEndpoint, String accessToken, Class<T> responseType) {
-        int attempts = 0;
-
-        while (attempts < retryConfig.getMaxRetryAttempts()) {
-            try {
-                String fullUrl = spotifyConfig.getApiUrl() + apiEndpoint;
-
-                T responseBody = restClient.get()
-                        .uri(fullUrl)
-                        .header("Authorization", "Bearer " + accessToken)
-                        .retrieve()
-                        .body(responseType);
-
-                return ResponseEntity.ok(responseBody);
-
-            } catch (HttpClientErrorException.TooManyRequests e) {
-                attempts++;
-
-                if (attempts >= retryConfig.getMaxRetryAttempts()) {
-                    System.err.println("Max retry attempts reached for request: " + apiEndpoint);
-                    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
-                }
-
-                long retryAfterSeconds = retryUtils.getRetryAfterSeconds(e);
-                System.out.println("(429) Attempt:" + attempts + " for: " + apiEndpoint + ". Retrying after "
-                        + retryAfterSeconds + " seconds.");
-
-                try {
-                    Thread.sleep(retryAfterSeconds * 1000);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
-                }
-
-            } catch (HttpClientErrorException.Unauthorized e) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            } catch (HttpClientErrorException e) {
-                System.err.println("HTTP Error: " + e.getStatusCode() + " - " + e.getMessage());
-                return ResponseEntity.status(e.getStatusCode()).build();
-            } catch (Exception e) {
-                System.err.println("Unexpected error: " + e.getMessage());
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            }
-        }
-
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
-    }
-
-    public <T> ResponseEntity<T> makeRequest(String userId, String apiEndpoint, Class<T> responseType) {
-        String accessToken = getValidAccessToken(userId);
-
-        if (accessToken == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        if (apiEndpoint == null || apiEndpoint.isEmpty()) {
-            return ResponseEntity.badRequest().body(null);
-        }
-
-        ResponseEntity<T> response = executeRequest(apiEndpoint, accessToken, responseType);
-
-        if (response.getStatusCode() == HttpStatus.UNAUTHORIZED) {
-            if (oauthService.refreshToken(userId)) {
-                String newAccessToken = getValidAccessToken(userId);
-                if (newAccessToken != null && !newAccessToken.equals(accessToken)) {
-                    response = executeRequest(apiEndpoint, newAccessToken, responseType);
-                }
-            }
-        }
-
-        return response;
-    }
-}
+package com.example.spotify_app.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import com.example.spotify_app.config.SpotifyConfig;
+import com.example.spotify_app.config.RetryConfig;
+import com.example.spotify_app.model.SpotifyTokenResponse;
+import com.example.spotify_app.util.AsyncUtils;
+import com.example.spotify_app.util.RetryUtils;
+
+@Service
+public class SpotifyApiClient {
+    private final SpotifyConfig spotifyConfig;
+    private final RetryConfig retryConfig;
+    private final RetryUtils retryUtils;
+    private final TokenStore tokenStore;
+    private final TokenRefreshCoordinator refreshCoordinator;
+    private final RateLimitGovernor rateLimitGovernor;
+    private final UserRequestLimiter requestLimiter;
+    private final UpstreamCircuitBreaker circuitBreaker;
+    private final UpstreamEtagCache etagCache;
+    private final RestClient restClient;
+    private final Executor ioExecutor;
+    private final Map<String, CompletableFuture<?>> inFlightRequests = new ConcurrentHashMap<>();
+
+    public SpotifyApiClient(TokenStore tokenStore, SpotifyConfig spotifyConfig, RetryConfig retryConfig,
+            RetryUtils retryUtils, TokenRefreshCoordinator refreshCoordinator, RateLimitGovernor rateLimitGovernor,
+            UserRequestLimiter requestLimiter, UpstreamCircuitBreaker circuitBreaker, UpstreamEtagCache etagCache,
+            @Qualifier("spotifyRestClient") RestClient restClient,
+            @Qualifier("spotifyIoExecutor") Executor ioExecutor) {
+        this.spotifyConfig = spotifyConfig;
+        this.retryConfig = retryConfig;
+        this.retryUtils = retryUtils;
+        this.tokenStore = tokenStore;
+        this.refreshCoordinator = refreshCoordinator;
+        this.rateLimitGovernor = rateLimitGovernor;
+        this.requestLimiter = requestLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.etagCache = etagCache;
+        this.restClient = restClient;
+        this.ioExecutor = ioExecutor;
+    }
+
+    public String getValidAccessToken(String userId) {
+        SpotifyTokenResponse tokenResponse = tokenStore.getToken(userId);
+
+        if (tokenResponse == null || tokenResponse.getAccessToken() == null
+                || tokenResponse.getAccessToken().isEmpty()) {
+            return null;
+        }
+
+        return tokenResponse.getAccessToken();
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> executeRequest(String apiEndpoint, String accessToken,
+            Class<T> responseType) {
+        return executeAttempt(apiEndpoint, accessToken, responseType, 0);
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> executeAttempt(String apiEndpoint, String accessToken,
+            Class<T> responseType, int attempts) {
+        if (attempts >= retryConfig.getMaxRetryAttempts()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build());
+        }
+
+        UpstreamCircuitBreaker.Call call = circuitBreaker.tryCall(apiEndpoint);
+        if (!call.permitted()) {
+            return CompletableFuture.completedFuture(whileCircuitOpen(apiEndpoint, responseType, call));
+        }
+
+        RateLimitGovernor.Admission admission = rateLimitGovernor.admit(ioExecutor);
+        if (!admission.granted()) {
+            call.release();
+            System.err.println("Rate limit window active, failing fast for: " + apiEndpoint);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds()))
+                    .build());
+        }
+
+        String fullUrl = spotifyConfig.getApiUrl() + apiEndpoint;
+        UpstreamEtagCache.Entry cached = etagCache.get(apiEndpoint, responseType);
+        String etag = cached != null ? cached.etag() : null;
+
+        return fetch(fullUrl, accessToken, etag, responseType, admission.executor())
+                .whenComplete((response, e) -> call.complete(e))
+                .thenApply(response -> revalidate(apiEndpoint, responseType, response, cached))
+                .exceptionallyCompose(e -> handleFailure(AsyncUtils.unwrap(e), apiEndpoint, accessToken,
+                        responseType, attempts));
+    }
+
+    // Stale catalog data beats an error while Spotify recovers; /me is never in the ETag cache, so it fails fast
+    private <T> ResponseEntity<T> whileCircuitOpen(String apiEndpoint, Class<T> responseType,
+            UpstreamCircuitBreaker.Call call) {
+        ResponseEntity<T> stale = staleResponse(apiEndpoint, responseType);
+        if (stale != null) {
+            System.err.println("Circuit open, serving stale data for: " + apiEndpoint);
+            return stale;
+        }
+
+        System.err.println("Circuit open, failing fast for: " + apiEndpoint);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(call.retryAfterSeconds()))
+                .build();
+    }
+
+    // Returns 304 with no body when etag still matches, otherwise 200 with the body and Spotify's ETag
+    protected <T> CompletableFuture<ResponseEntity<T>> fetch(String url, String accessToken, String etag,
+            Class<T> responseType, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            RestClient.RequestHeadersSpec<?> request = restClient.get()
+                    .uri(url)
+                    .header("Authorization", "Bearer " + accessToken);
+            if (etag != null) {
+                request = request.header(HttpHeaders.IF_NONE_MATCH, etag);
+            }
+            return request.retrieve().toEntity(responseType);
+        }, executor);
+    }
+
+    private <T> ResponseEntity<T> revalidate(String apiEndpoint, Class<T> responseType, ResponseEntity<T> response,
+            UpstreamEtagCache.Entry cached) {
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            return ResponseEntity.ok(responseType.cast(cached.body()));
+        }
+
+        etagCache.put(apiEndpoint, responseType, response.getHeaders().getETag(), response.getBody());
+        return ResponseEntity.ok(response.getBody());
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> handleFailure(Throwable e, String apiEndpoint,
+            String accessToken, Class<T> responseType, int attempts) {
+        if (e instanceof HttpClientErrorException.TooManyRequests tooManyRequests) {
+            int nextAttempt = attempts + 1;
+
+            if (nextAttempt >= retryConfig.getMaxRetryAttempts()) {
+                System.err.println("Max retry attempts reached for request: " + apiEndpoint);
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build());
+            }
+
+            long retryAfterSeconds = retryUtils.getRetryAfterSeconds(tooManyRequests);
+            System.out.println("(429) Attempt:" + nextAttempt + " for: " + apiEndpoint + ". Retrying after "
+                    + retryAfterSeconds + " seconds.");
+
+            // Every outbound call, including this retry, now waits out the window in the governor
+            rateLimitGovernor.blockFor(retryAfterSeconds);
+            return executeAttempt(apiEndpoint, accessToken, responseType, nextAttempt);
+        }
+
+        if (e instanceof HttpClientErrorException.Unauthorized) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+
+        if (e instanceof HttpClientErrorException httpError) {
+            System.err.println("HTTP Error: " + httpError.getStatusCode() + " - " + httpError.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.status(httpError.getStatusCode()).build());
+        }
+
+        System.err.println("Unexpected error: " + e.getMessage());
+        return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    }
+
+    public <T> CompletableFuture<ResponseEntity<T>> makeRequest(String userId, String apiEndpoint,
+            Class<T> responseType) {
+        return makeRequest(userId, apiEndpoint, responseType, true);
+    }
+
+    // CatalogBatcher charges every waiting user itself, so the combined call is not charged to whoever opened the batch
+    <T> CompletableFuture<ResponseEntity<T>> makeBatchedRequest(String userId, String apiEndpoint,
+            Class<T> responseType) {
+        return makeRequest(userId, apiEndpoint, responseType, false);
+    }
+
+    // Batched lookups are cached under the multi-ID endpoint, so each entity is also kept under its own endpoint
+    // for the circuit-open fallback
+    void rememberForFallback(String apiEndpoint, Class<?> responseType, Object body) {
+        etagCache.putStale(apiEndpoint, responseType, body);
+    }
+
+    // The last body seen for the endpoint, or null if there is none
+    <T> ResponseEntity<T> staleResponse(String apiEndpoint, Class<T> responseType) {
+        UpstreamEtagCache.Entry stale = etagCache.get(apiEndpoint, responseType);
+        return stale != null ? ResponseEntity.ok(responseType.cast(stale.body())) : null;
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> makeRequest(String userId, String apiEndpoint,
+            Class<T> responseType, boolean charged) {
+        String accessToken = getValidAccessToken(userId);
+
+        if (accessToken == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+
+        if (apiEndpoint == null || apiEndpoint.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(null));
+        }
+
+        Supplier<CompletableFuture<ResponseEntity<T>>> request = () -> resolveAccessToken(userId, accessToken)
+                .thenCompose(currentToken -> sendWithToken(userId, currentToken, apiEndpoint, responseType));
+        return charged ? withinUserLimits(userId, request) : request.get();
+    }
+
+    public CompletableFuture<String> resolveValidAccessToken(String userId) {
+        String accessToken = getValidAccessToken(userId);
+
+        if (accessToken == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return resolveAccessToken(userId, accessToken);
+    }
+
+    // For callers that resolved the token once and fan out several requests with it
+    public <T> CompletableFuture<ResponseEntity<T>> makeRequestWithToken(String userId, String accessToken,
+            String apiEndpoint, Class<T> responseType) {
+        return withinUserLimits(userId, () -> sendWithToken(userId, accessToken, apiEndpoint, responseType));
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> sendWithToken(String userId, String accessToken,
+            String apiEndpoint, Class<T> responseType) {
+        return executeRequest(apiEndpoint, accessToken, responseType).thenCompose(response -> {
+            if (response.getStatusCode() != HttpStatus.UNAUTHORIZED) {
+                return CompletableFuture.completedFuture(response);
+            }
+            return retryWithRefreshedToken(userId, apiEndpoint, accessToken, responseType, response);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<ResponseEntity<T>> makeSharedRequest(String userId, String apiEndpoint,
+            Class<T> responseType) {
+        // Only catalog endpoints whose result does not depend on the user may share one upstream call
+        if (getValidAccessToken(userId) == null) {
+            return makeRequest(userId, apiEndpoint, responseType);
+        }
+
+        String key = responseType.getName() + " " + apiEndpoint;
+        CompletableFuture<ResponseEntity<T>> request = new CompletableFuture<>();
+        CompletableFuture<?> inFlight = inFlightRequests.putIfAbsent(key, request);
+
+        if (inFlight != null) {
+            // The call ran with the first caller's token and budget; only outcomes that hold for anyone are shared
+            return ((CompletableFuture<ResponseEntity<T>>) inFlight)
+                    .handle((response, e) -> e == null && isUserIndependent(response) ? response : null)
+                    .thenCompose(response -> response != null
+                            ? CompletableFuture.completedFuture(response)
+                            : makeRequest(userId, apiEndpoint, responseType));
+        }
+
+        try {
+            makeRequest(userId, apiEndpoint, responseType).whenComplete((response, e) -> {
+                inFlightRequests.remove(key, request);
+                if (e != null) {
+                    request.completeExceptionally(e);
+                } else {
+                    request.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlightRequests.remove(key, request);
+            request.completeExceptionally(e);
+        }
+
+        return request.copy();
+    }
+
+    private boolean isUserIndependent(ResponseEntity<?> response) {
+        return response.getStatusCode().is2xxSuccessful() || response.getStatusCode() == HttpStatus.NOT_FOUND;
+    }
+
+    // A user over their share gets an immediate 429 instead of queueing behind the shared governor
+    private <T> CompletableFuture<ResponseEntity<T>> withinUserLimits(String userId,
+            Supplier<CompletableFuture<ResponseEntity<T>>> request) {
+        UserRequestLimiter.Permit permit = requestLimiter.tryAcquire(userId);
+        if (!permit.granted()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(permit.retryAfterSeconds()))
+                    .build());
+        }
+
+        try {
+            CompletableFuture<ResponseEntity<T>> response = request.get();
+            response.whenComplete((result, e) -> permit.release());
+            return response;
+        } catch (RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    private CompletableFuture<String> resolveAccessToken(String userId, String accessToken) {
+        if (!tokenStore.isExpired(userId)) {
+            return CompletableFuture.completedFuture(accessToken);
+        }
+
+        return refreshCoordinator.refresh(userId, accessToken).thenApply(refreshed -> {
+            String refreshedAccessToken = refreshed ? getValidAccessToken(userId) : null;
+            return refreshedAccessToken != null ? refreshedAccessToken : accessToken;
+        });
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> retryWithRefreshedToken(String userId, String apiEndpoint,
+            String accessToken, Class<T> responseType, ResponseEntity<T> unauthorizedResponse) {
+        return refreshCoordinator.refresh(userId, accessToken).thenCompose(refreshed -> {
+            if (refreshed) {
+                String newAccessToken = getValidAccessToken(userId);
+                if (newAccessToken != null && !newAccessToken.equals(accessToken)) {
+                    return executeRequest(apiEndpoint, newAccessToken, responseType);
+                }
+            }
+            return CompletableFuture.completedFuture(unauthorizedResponse);
+        });
+    }
+}
@@ -1,36 +1,80 @@
-package com.example.spotify_app.service;
-
-import org.springframework.http.ResponseEntity;
-import org.springframework.stereotype.Service;
-
-import com.example.spotify_app.model.Artist.Artist;
-import com.example.spotify_app.model.Artist.ArtistTopTracksResponse;
-import com.example.spotify_app.model.Artist.ArtistAlbumsResponse;
-
-@Service
-public class SpotifyArtistService {
-
-    private final SpotifyApiClient tokenService;
-
-    public SpotifyArtistService(SpotifyApiClient tokenService) {
-        this.tokenService = tokenService;
-    }
-
-    public ResponseEntity<Artist> getArtistById(String userId, String artistId) {
-        String endpoint = String.format("/artists/%s", artistId);
-        return tokenService.makeRequest(userId, endpoint, Artist.class);
-    }
-
-    public ResponseEntity<ArtistTopTracksResponse> getTopTracks(String userId, String artistId) {
-        String endpoint = String.format("/artists/%s/top-tracks", artistId);
-        return tokenService.makeRequest(userId, endpoint, ArtistTopTracksResponse.class);
-    }
-
-    public ResponseEntity<ArtistAlbumsResponse> getAlbums(String userId, String artistId, Integer limit,
-            Integer offset) {
-        StringBuilder endpoint = new StringBuilder(String.format("/artists/%s/albums", artistId));
-        endpoint.append("?limit=").append(limit);
-        endpoint.append("&offset=").append(offset);
-        return tokenService.makeRequest(userId, endpoint.toString(), ArtistAlbumsResponse.class);
-    }
-}
+package com.example.spotify_app.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.spotify_app.config.CompositeConfig;
+import com.example.spotify_app.model.Artist.Artist;
+import com.example.spotify_app.model.Artist.ArtistTopTracksResponse;
+import com.example.spotify_app.model.Artist.ArtistAlbumsResponse;
+import com.example.spotify_app.model.Artist.ArtistPageResponse;
+import com.example.spotify_app.util.AsyncUtils;
+
+@Service
+public class SpotifyArtistService {
+
+    private final SpotifyApiClient tokenService;
+    private final CatalogCache catalogCache;
+    private final CompositeConfig compositeConfig;
+
+    public SpotifyArtistService(SpotifyApiClient tokenService, CatalogCache catalogCache,
+            CompositeConfig compositeConfig) {
+        this.tokenService = tokenService;
+        this.catalogCache = catalogCache;
+        this.compositeConfig = compositeConfig;
+    }
+
+    public CompletableFuture<ResponseEntity<Artist>> getArtistById(String userId, String artistId) {
+        String endpoint = String.format("/artists/%s", artistId);
+        return catalogCache.getOrFetch(userId, endpoint, Artist.class);
+    }
+
+    public CompletableFuture<ResponseEntity<ArtistTopTracksResponse>> getTopTracks(String userId, String artistId) {
+        String endpoint = String.format("/artists/%s/top-tracks", artistId);
+        return tokenService.makeSharedRequest(userId, endpoint, ArtistTopTracksResponse.class);
+    }
+
+    public CompletableFuture<ResponseEntity<ArtistAlbumsResponse>> getAlbums(String userId, String artistId, Integer limit,
+            Integer offset) {
+        StringBuilder endpoint = new StringBuilder(String.format("/artists/%s/albums", artistId));
+        endpoint.append("?limit=").append(limit);
+        endpoint.append("&offset=").append(offset);
+        return tokenService.makeSharedRequest(userId, endpoint.toString(), ArtistAlbumsResponse.class);
+    }
+
+    public CompletableFuture<ResponseEntity<ArtistPageResponse>> getArtistPage(String userId, String artistId,
+            Integer limit, Integer offset) {
+        long timeoutMs = compositeConfig.getSectionTimeoutMs();
+
+        // All three sections are in flight before any of them is awaited
+        CompletableFuture<ResponseEntity<Artist>> artist = AsyncUtils.withTimeout(
+                getArtistById(userId, artistId), timeoutMs);
+        CompletableFuture<ResponseEntity<ArtistTopTracksResponse>> topTracks = AsyncUtils.withTimeout(
+                getTopTracks(userId, artistId), timeoutMs);
+        CompletableFuture<ResponseEntity<ArtistAlbumsResponse>> albums = AsyncUtils.withTimeout(
+                getAlbums(userId, artistId, limit, offset), timeoutMs);
+
+        return CompletableFuture.allOf(artist, topTracks, albums)
+                .thenApply(ignored -> assemblePage(artist.join(), topTracks.join(), albums.join()));
+    }
+
+    private ResponseEntity<ArtistPageResponse> assemblePage(ResponseEntity<Artist> artist,
+            ResponseEntity<ArtistTopTracksResponse> topTracks, ResponseEntity<ArtistAlbumsResponse> albums) {
+        // Without the artist there is no page; the other sections are optional and reported when missing
+        if (artist.getStatusCode() != HttpStatus.OK) {
+            return ResponseEntity.status(artist.getStatusCode()).headers(artist.getHeaders()).build();
+        }
+
+        Map<String, Integer> failedSections = new LinkedHashMap<>();
+        ArtistTopTracksResponse topTracksBody = AsyncUtils.sectionBody("top_tracks", topTracks, failedSections);
+        ArtistAlbumsResponse albumsBody = AsyncUtils.sectionBody("albums", albums, failedSections);
+
+        return ResponseEntity.ok(new ArtistPageResponse(artist.getBody(),
+                topTracksBody != null ? topTracksBody.getTracks() : null, albumsBody, failedSections));
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.spotify_app.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import com.example.spotify_app.config.BatchConfig;
+import com.example.spotify_app.model.Batch.BatchItemRequest;
+import com.example.spotify_app.model.Batch.BatchItemResponse;
+import com.example.spotify_app.model.Batch.BatchResponse;
+
+@Service
+public class SpotifyBatchService {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 50;
+    private static final Pattern SPOTIFY_ID = Pattern.compile("[A-Za-z0-9]+");
+    private static final Set<String> SEARCH_TYPES = Set.of("album", "artist", "playlist", "track", "show", "episode",
+            "audiobook");
+
+    private final SpotifyArtistService artistService;
+    private final SpotifyAlbumService albumService;
+    private final SpotifyTrackService trackService;
+    private final SpotifySearchService searchService;
+    private final SpotifyProfileService profileService;
+    private final BatchConfig batchConfig;
+
+    public SpotifyBatchService(SpotifyArtistService artistService, SpotifyAlbumService albumService,
+            SpotifyTrackService trackService, SpotifySearchService searchService,
+            SpotifyProfileService profileService, BatchConfig batchConfig) {
+        this.artistService = artistService;
+        this.albumService = albumService;
+        this.trackService = trackService;
+        this.searchService = searchService;
+        this.profileService = profileService;
+        this.batchConfig = batchConfig;
+    }
+
+    public CompletableFuture<ResponseEntity<BatchResponse>> execute(String userId, List<BatchItemRequest> items) {
+        if (items == null || items.isEmpty() || items.size() > batchConfig.getMaxItems()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+
+        List<CompletableFuture<BatchItemResponse>> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(new CompletableFuture<>());
+        }
+
+        // At most max-concurrency items are in flight; each finished item starts the next one
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(batchConfig.getMaxConcurrency(), items.size());
+        for (int i = 0; i < workers; i++) {
+            startNext(userId, items, results, next);
+        }
+
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> ResponseEntity.ok(new BatchResponse(results.stream()
+                        .map(CompletableFuture::join)
+                        .toList())));
+    }
+
+    private void startNext(String userId, List<BatchItemRequest> items,
+            List<CompletableFuture<BatchItemResponse>> results, AtomicInteger next) {
+        int index = next.getAndIncrement();
+        if (index >= items.size()) {
+            return;
+        }
+
+        BatchItemRequest item = items.get(index);
+        String key = item != null && item.getKey() != null ? item.getKey() : String.valueOf(index);
+
+        dispatch(userId, item)
+                .handle((response, e) -> e != null
+                        ? new BatchItemResponse(key, HttpStatus.INTERNAL_SERVER_ERROR.value(), null)
+                        : new BatchItemResponse(key, response.getStatusCode().value(), response.getBody()))
+                .thenAccept(result -> {
+                    results.get(index).complete(result);
+                    startNext(userId, items, results, next);
+                });
+    }
+
+    private CompletableFuture<? extends ResponseEntity<?>> dispatch(String userId, BatchItemRequest item) {
+        if (item == null || item.getOperation() == null) {
+            return badRequest();
+        }
+
+        int limit = item.getLimit() != null ? item.getLimit() : DEFAULT_LIMIT;
+        int offset = item.getOffset() != null ? item.getOffset() : 0;
+        if (limit < 1 || limit > MAX_LIMIT || offset < 0) {
+            return badRequest();
+        }
+
+        // Unlike path variables, batch ids may contain '/' or '?', and the endpoint they build is a key in caches
+        // shared between users, so anything but a plain Spotify ID is refused
+        boolean hasId = item.getId() != null && SPOTIFY_ID.matcher(item.getId()).matches();
+
+        try {
+            return switch (item.getOperation()) {
+                case "artist" -> hasId ? artistService.getArtistById(userId, item.getId()) : badRequest();
+                case "album" -> hasId ? albumService.getAlbumById(userId, item.getId()) : badRequest();
+                case "album_tracks" -> hasId ? albumService.getAlbumTracks(userId, item.getId()) : badRequest();
+                case "track" -> hasId ? trackService.getTrackById(userId, item.getId()) : badRequest();
+                case "search" -> hasText(item.getQuery()) && isSearchType(item.getType())
+                        ? searchService.search(userId, item.getQuery(), item.getType(), limit, offset)
+                        : badRequest();
+                case "top_artists" -> profileService.getTopArtists(userId, limit);
+                case "top_tracks" -> profileService.getTopTracks(userId, limit);
+                default -> badRequest();
+            };
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> badRequest() {
+        return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+    }
+
+    private boolean isSearchType(String type) {
+        return type != null && Arrays.stream(type.split(",", -1)).allMatch(SEARCH_TYPES::contains);
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -1,33 +1,84 @@
-package com.example.spotify_app.service;
-
-import org.springframework.http.ResponseEntity;
-import org.springframework.stereotype.Service;
-
-import com.example.spotify_app.model.Profile.SpotifyProfileResponse;
-import com.example.spotify_app.model.Profile.SpotifyTopArtistsResponse;
-import com.example.spotify_app.model.Profile.SpotifyTopTracksResponse;
-
-@Service
-public class SpotifyProfileService {
-
-    private final SpotifyApiClient tokenService;
-
-    public SpotifyProfileService(SpotifyApiClient tokenService) {
-        this.tokenService = tokenService;
-    }
-
-    public ResponseEntity<SpotifyProfileResponse> getProfile(String userId) {
-        String endpoint = "/me";
-        return tokenService.makeRequest(userId, endpoint, SpotifyProfileResponse.class);
-    }
-
-    public ResponseEntity<SpotifyTopArtistsResponse> getTopArtists(String userId, Integer limit) {
-        String endpoint = String.format("/me/top/artists?limit=%d", limit);
-        return tokenService.makeRequest(userId, endpoint, SpotifyTopArtistsResponse.class);
-    }
-
-    public ResponseEntity<SpotifyTopTracksResponse> getTopTracks(String userId, Integer limit) {
-        String endpoint = String.format("/me/top/tracks?limit=%d", limit);
-        return tokenService.makeRequest(userId, endpoint, SpotifyTopTracksResponse.class);
-    }
-}
+package com.example.spotify_app.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.spotify_app.config.CompositeConfig;
+import com.example.spotify_app.model.Profile.SpotifyDashboardResponse;
+import com.example.spotify_app.model.Profile.SpotifyProfileResponse;
+import com.example.spotify_app.model.Profile.SpotifyTopArtistsResponse;
+import com.example.spotify_app.model.Profile.SpotifyTopTracksResponse;
+import com.example.spotify_app.util.AsyncUtils;
+
+@Service
+public class SpotifyProfileService {
+
+    private final SpotifyApiClient tokenService;
+    private final CompositeConfig compositeConfig;
+
+    public SpotifyProfileService(SpotifyApiClient tokenService, CompositeConfig compositeConfig) {
+        this.tokenService = tokenService;
+        this.compositeConfig = compositeConfig;
+    }
+
+    public CompletableFuture<ResponseEntity<SpotifyProfileResponse>> getProfile(String userId) {
+        String endpoint = "/me";
+        return tokenService.makeRequest(userId, endpoint, SpotifyProfileResponse.class);
+    }
+
+    public CompletableFuture<ResponseEntity<SpotifyTopArtistsResponse>> getTopArtists(String userId, Integer limit) {
+        String endpoint = String.format("/me/top/artists?limit=%d", limit);
+        return tokenService.makeRequest(userId, endpoint, SpotifyTopArtistsResponse.class);
+    }
+
+    public CompletableFuture<ResponseEntity<SpotifyTopTracksResponse>> getTopTracks(String userId, Integer limit) {
+        String endpoint = String.format("/me/top/tracks?limit=%d", limit);
+        return tokenService.makeRequest(userId, endpoint, SpotifyTopTracksResponse.class);
+    }
+
+    public CompletableFuture<ResponseEntity<SpotifyDashboardResponse>> getDashboard(String userId, Integer limit) {
+        return tokenService.resolveValidAccessToken(userId).thenCompose(accessToken -> {
+            if (accessToken == null) {
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+            }
+
+            long timeoutMs = compositeConfig.getSectionTimeoutMs();
+
+            // One token lookup and expiry check for the whole dashboard, then all three sections in parallel
+            CompletableFuture<ResponseEntity<SpotifyProfileResponse>> profile = AsyncUtils.withTimeout(
+                    tokenService.makeRequestWithToken(userId, accessToken, "/me", SpotifyProfileResponse.class),
+                    timeoutMs);
+            CompletableFuture<ResponseEntity<SpotifyTopArtistsResponse>> topArtists = AsyncUtils.withTimeout(
+                    tokenService.makeRequestWithToken(userId, accessToken,
+                            String.format("/me/top/artists?limit=%d", limit), SpotifyTopArtistsResponse.class),
+                    timeoutMs);
+            CompletableFuture<ResponseEntity<SpotifyTopTracksResponse>> topTracks = AsyncUtils.withTimeout(
+                    tokenService.makeRequestWithToken(userId, accessToken,
+                            String.format("/me/top/tracks?limit=%d", limit), SpotifyTopTracksResponse.class),
+                    timeoutMs);
+
+            return CompletableFuture.allOf(profile, topArtists, topTracks)
+                    .thenApply(ignored -> assembleDashboard(profile.join(), topArtists.join(), topTracks.join()));
+        });
+    }
+
+    private ResponseEntity<SpotifyDashboardResponse> assembleDashboard(ResponseEntity<SpotifyProfileResponse> profile,
+            ResponseEntity<SpotifyTopArtistsResponse> topArtists, ResponseEntity<SpotifyTopTracksResponse> topTracks) {
+        // The profile is required; the top lists are optional and reported when missing
+        if (profile.getStatusCode() != HttpStatus.OK) {
+            return ResponseEntity.status(profile.getStatusCode()).headers(profile.getHeaders()).build();
+        }
+
+        Map<String, Integer> failedSections = new LinkedHashMap<>();
+        SpotifyTopArtistsResponse topArtistsBody = AsyncUtils.sectionBody("top_artists", topArtists, failedSections);
+        SpotifyTopTracksResponse topTracksBody = AsyncUtils.sectionBody("top_tracks", topTracks, failedSections);
+
+        return ResponseEntity.ok(new SpotifyDashboardResponse(profile.getBody(), topArtistsBody, topTracksBody,
+                failedSections));
+    }
+}
@@ -1,32 +1,44 @@
-package com.example.spotify_app.service;
-
-import org.springframework.http.ResponseEntity;
-import org.springframework.stereotype.Service;
-
-import com.example.spotify_app.model.Search.SpotifySearchResponse;
-
-@Service
-public class SpotifySearchService {
-
-    private final SpotifyApiClient tokenService;
-
-    public SpotifySearchService(SpotifyApiClient tokenService) {
-        this.tokenService = tokenService;
-    }
-
-    public ResponseEntity<SpotifySearchResponse> search(String userId, String query, String type, Integer limit,
-            Integer offset) {
-        StringBuilder endpoint = new StringBuilder("/search");
-
-        try {
-            endpoint.append("?q=").append(java.net.URLEncoder.encode(query, "UTF-8"));
-        } catch (java.io.UnsupportedEncodingException e) {
-            throw new RuntimeException("Error encoding search query", e);
-        }
-        endpoint.append("&type=").append(type);
-        endpoint.append("&limit=").append(limit);
-        endpoint.append("&offset=").append(offset);
-
-        return tokenService.makeRequest(userId, endpoint.toString(), SpotifySearchResponse.class);
-    }
-}
+package com.example.spotify_app.service;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.example.spotify_app.model.Search.SpotifySearchResponse;
+
+@Service
+public class SpotifySearchService {
+
+    private final SpotifyApiClient tokenService;
+
+    public SpotifySearchService(SpotifyApiClient tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    public CompletableFuture<ResponseEntity<SpotifySearchResponse>> search(String userId, String query, String type, Integer limit,
+            Integer offset) {
+        return tokenService.makeRequest(userId, buildEndpoint(query, type, limit, offset), SpotifySearchResponse.class);
+    }
+
+    // Spotify's JSON as-is, for callers that return it unchanged
+    public CompletableFuture<ResponseEntity<byte[]>> searchRaw(String userId, String query, String type, Integer limit,
+            Integer offset) {
+        return tokenService.makeRequest(userId, buildEndpoint(query, type, limit, offset), byte[].class);
+    }
+
+    private String buildEndpoint(String query, String type, Integer limit, Integer offset) {
+        StringBuilder endpoint = new StringBuilder("/search");
+
+        try {
+            endpoint.append("?q=").append(java.net.URLEncoder.encode(query, "UTF-8"));
+        } catch (java.io.UnsupportedEncodingException e) {
+            throw new RuntimeException("Error encoding search query", e);
+        }
+        endpoint.append("&type=").append(type);
+        endpoint.append("&limit=").append(limit);
+        endpoint.append("&offset=").append(offset);
+
+        return endpoint.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.spotify_app.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+@Component
+public class TokenRefreshCoordinator {
+
+    private static final Executor LOCK_RETRY_DELAY = CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS);
+
+    private final TokenStore tokenStore;
+    private final SpotifyOAuthService oauthService;
+    private final Map<String, CompletableFuture<Boolean>> inFlightRefreshes = new ConcurrentHashMap<>();
+
+    public TokenRefreshCoordinator(TokenStore tokenStore, SpotifyOAuthService oauthService) {
+        this.tokenStore = tokenStore;
+        this.oauthService = oauthService;
+    }
+
+    public CompletableFuture<Boolean> refresh(String userId, String staleAccessToken) {
+        if (hasBeenRotated(userId, staleAccessToken)) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        CompletableFuture<Boolean> refresh = new CompletableFuture<>();
+        CompletableFuture<Boolean> inFlight = inFlightRefreshes.putIfAbsent(userId, refresh);
+
+        if (inFlight != null) {
+            return inFlight;
+        }
+
+        refreshWhenUnlocked(userId, staleAccessToken, refresh);
+        return refresh;
+    }
+
+    private void refreshWhenUnlocked(String userId, String staleAccessToken, CompletableFuture<Boolean> refresh) {
+        // Another caller, here or on another node, may have finished a refresh since the last check
+        if (hasBeenRotated(userId, staleAccessToken)) {
+            inFlightRefreshes.remove(userId, refresh);
+            refresh.complete(true);
+            return;
+        }
+
+        // Another node is refreshing this user; wait for its token rather than spend the refresh token twice
+        if (!tokenStore.tryLockRefresh(userId)) {
+            CompletableFuture.runAsync(() -> refreshWhenUnlocked(userId, staleAccessToken, refresh), LOCK_RETRY_DELAY);
+            return;
+        }
+
+        try {
+            oauthService.refreshToken(userId).whenComplete((refreshed, e) -> {
+                tokenStore.unlockRefresh(userId);
+                inFlightRefreshes.remove(userId, refresh);
+                if (e != null) {
+                    System.err.println("Token refresh failed for user: " + userId + " - " + e.getMessage());
+                    refresh.complete(false);
+                } else {
+                    refresh.complete(Boolean.TRUE.equals(refreshed));
+                }
+            });
+        } catch (RuntimeException e) {
+            tokenStore.unlockRefresh(userId);
+            inFlightRefreshes.remove(userId, refresh);
+            System.err.println("Token refresh failed for user: " + userId + " - " + e.getMessage());
+            refresh.complete(false);
+        }
+    }
+
+    private boolean hasBeenRotated(String userId, String staleAccessToken) {
+        SpotifyTokenResponse current = tokenStore.peekToken(userId);
+
+        return current != null && current.getAccessToken() != null
+                && !current.getAccessToken().isEmpty()
+                && !current.getAccessToken().equals(staleAccessToken);
+    }
+}
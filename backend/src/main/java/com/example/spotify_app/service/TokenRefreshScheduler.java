@@ -0,0 +1,119 @@
+package com.example.spotify_app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PreDestroy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.spotify_app.config.TokenRefreshConfig;
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+@Component
+public class TokenRefreshScheduler {
+
+    private final TokenStore tokenStore;
+    private final TokenRefreshCoordinator refreshCoordinator;
+    private final TokenRefreshConfig refreshConfig;
+    private final ExecutorService refreshExecutor;
+    private final Clock clock;
+
+    @Autowired
+    public TokenRefreshScheduler(TokenStore tokenStore, TokenRefreshCoordinator refreshCoordinator,
+            TokenRefreshConfig refreshConfig) {
+        this(tokenStore, refreshCoordinator, refreshConfig, Clock.systemUTC());
+    }
+
+    TokenRefreshScheduler(TokenStore tokenStore, TokenRefreshCoordinator refreshCoordinator,
+            TokenRefreshConfig refreshConfig, Clock clock) {
+        this.tokenStore = tokenStore;
+        this.refreshCoordinator = refreshCoordinator;
+        this.refreshConfig = refreshConfig;
+        this.clock = clock;
+        this.refreshExecutor = Executors.newFixedThreadPool(Math.max(1, refreshConfig.getMaxConcurrency()));
+    }
+
+    @Scheduled(fixedDelayString = "${spotify.token-refresh.interval-ms:30000}")
+    public void refreshExpiringTokens() {
+        if (!refreshConfig.isEnabled()) {
+            return;
+        }
+
+        List<String> dueUserIds = findDueUserIds();
+        if (dueUserIds.isEmpty()) {
+            return;
+        }
+
+        List<Callable<Boolean>> refreshes = dueUserIds.stream()
+                .map(userId -> (Callable<Boolean>) () -> refreshUser(userId))
+                .toList();
+
+        int refreshed = 0;
+        try {
+            for (Future<Boolean> result : refreshExecutor.invokeAll(refreshes)) {
+                if (result.get()) {
+                    refreshed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Proactive token refresh failed: " + e.getCause().getMessage());
+        }
+
+        System.out.println("Proactively refreshed " + refreshed + " of " + dueUserIds.size() + " expiring tokens");
+    }
+
+    List<String> findDueUserIds() {
+        Instant now = clock.instant();
+        Instant horizon = now.plusSeconds(refreshConfig.getLeadSeconds() + refreshConfig.getJitterSeconds() + 1);
+
+        return tokenStore.findUserIdsExpiringBefore(horizon).stream()
+                .filter(userId -> isDue(userId, now))
+                .limit(refreshConfig.getBatchSize())
+                .toList();
+    }
+
+    private boolean isDue(String userId, Instant now) {
+        Instant expiresAt = tokenStore.getExpiresAt(userId);
+        if (expiresAt == null || isAbandoned(userId, now)) {
+            return false;
+        }
+
+        // Spread refreshes over [lead, lead + jitter] seconds before expiry, stable per user
+        long jitter = refreshConfig.getJitterSeconds() > 0
+                ? Math.floorMod(userId.hashCode(), refreshConfig.getJitterSeconds() + 1)
+                : 0;
+        return !now.isBefore(expiresAt.minusSeconds(refreshConfig.getLeadSeconds() + jitter));
+    }
+
+    // Sessions nobody has used for a while are refreshed on demand if their user comes back
+    private boolean isAbandoned(String userId, Instant now) {
+        if (refreshConfig.getMaxIdleSeconds() <= 0) {
+            return false;
+        }
+        Instant lastAccessAt = tokenStore.getLastAccessAt(userId);
+        return lastAccessAt != null && lastAccessAt.isBefore(now.minusSeconds(refreshConfig.getMaxIdleSeconds()));
+    }
+
+    private boolean refreshUser(String userId) {
+        SpotifyTokenResponse token = tokenStore.peekToken(userId);
+        if (token == null) {
+            return false;
+        }
+        return refreshCoordinator.refresh(userId, token.getAccessToken()).join();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -1,25 +1,35 @@
-package com.example.spotify_app.service;
-
-import org.springframework.stereotype.Component;
-
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.Map;
-
-import com.example.spotify_app.model.SpotifyTokenResponse;
-
-@Component
-public class TokenStore {
-    private final Map<String, SpotifyTokenResponse> tokenStore = new ConcurrentHashMap<>();
-
-    public void saveToken(String userId, SpotifyTokenResponse tokenResponse) {
-        tokenStore.put(userId, tokenResponse);
-    }
-
-    public SpotifyTokenResponse getToken(String userId) {
-        return tokenStore.get(userId);
-    }
-
-    public void removeToken(String userId) {
-        tokenStore.remove(userId);
-    }
-}
+package com.example.spotify_app.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+public interface TokenStore {
+
+    void saveToken(String userId, SpotifyTokenResponse tokenResponse);
+
+    SpotifyTokenResponse getToken(String userId);
+
+    // Same as getToken but does not count as session activity
+    SpotifyTokenResponse peekToken(String userId);
+
+    void removeToken(String userId);
+
+    Instant getExpiresAt(String userId);
+
+    boolean isExpired(String userId);
+
+    // Approximate time of the last getToken, or null if the session is gone
+    Instant getLastAccessAt(String userId);
+
+    List<String> findUserIdsExpiringBefore(Instant deadline);
+
+    // Stores shared by several nodes use this so only one of them refreshes a user's token at a time
+    default boolean tryLockRefresh(String userId) {
+        return true;
+    }
+
+    default void unlockRefresh(String userId) {
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.spotify_app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.spotify_app.config.CircuitBreakerConfig;
+import com.example.spotify_app.util.AsyncUtils;
+
+// One circuit per endpoint family, so an outage of search does not cut off cached artists or the profile
+@Component
+public class UpstreamCircuitBreaker implements MeterBinder {
+
+    static final List<String> FAMILIES = List.of("artists", "albums", "tracks", "search", "me", "other");
+
+    private static final long HALF_OPEN_RETRY_AFTER_SECONDS = 1;
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final boolean enabled;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final int halfOpenMaxCalls;
+    private final Clock clock;
+    private final Map<String, Circuit> circuits = new LinkedHashMap<>();
+
+    @Autowired
+    public UpstreamCircuitBreaker(CircuitBreakerConfig circuitBreakerConfig) {
+        this(circuitBreakerConfig, Clock.systemUTC());
+    }
+
+    UpstreamCircuitBreaker(CircuitBreakerConfig circuitBreakerConfig, Clock clock) {
+        this.enabled = circuitBreakerConfig.isEnabled();
+        this.failureThreshold = Math.max(1, circuitBreakerConfig.getFailureThreshold());
+        this.openMillis = TimeUnit.SECONDS.toMillis(circuitBreakerConfig.getOpenSeconds());
+        this.halfOpenMaxCalls = Math.max(1, circuitBreakerConfig.getHalfOpenMaxCalls());
+        this.clock = clock;
+        FAMILIES.forEach(family -> circuits.put(family, new Circuit(family)));
+    }
+
+    public Call tryCall(String apiEndpoint) {
+        if (!enabled) {
+            return Call.UNGUARDED;
+        }
+        return circuits.get(family(apiEndpoint)).tryCall();
+    }
+
+    State getState(String family) {
+        return circuits.get(family).getState();
+    }
+
+    static String family(String apiEndpoint) {
+        if (apiEndpoint == null || !apiEndpoint.startsWith("/")) {
+            return "other";
+        }
+
+        int end = 1;
+        while (end < apiEndpoint.length() && apiEndpoint.charAt(end) != '/' && apiEndpoint.charAt(end) != '?') {
+            end++;
+        }
+        String family = apiEndpoint.substring(1, end);
+        return FAMILIES.contains(family) ? family : "other";
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Circuit circuit : circuits.values()) {
+            Gauge.builder("spotify.circuit.state", circuit, c -> c.getState().ordinal())
+                    .tag("family", circuit.family)
+                    .description("Circuit state for the endpoint family: 0 closed, 1 half-open, 2 open")
+                    .register(registry);
+            FunctionCounter.builder("spotify.circuit.rejected", circuit.rejected, AtomicLong::get)
+                    .tag("family", circuit.family)
+                    .description("Upstream calls refused without contacting Spotify")
+                    .register(registry);
+            circuit.transitions.forEach((state, count) -> FunctionCounter
+                    .builder("spotify.circuit.transitions", count, AtomicLong::get)
+                    .tag("family", circuit.family)
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .description("Times the circuit moved into this state")
+                    .register(registry));
+        }
+    }
+
+    private final class Circuit {
+        private final String family;
+        private final AtomicLong rejected = new AtomicLong();
+        private final Map<State, AtomicLong> transitions = new EnumMap<>(State.class);
+
+        private State state = State.CLOSED;
+        // Bumped on every transition so calls started under an earlier state cannot skew the current one
+        private long generation;
+        private int consecutiveFailures;
+        private int trialsInFlight;
+        private int trialSuccesses;
+        private long openedAtMillis;
+
+        private Circuit(String family) {
+            this.family = family;
+            for (State value : State.values()) {
+                transitions.put(value, new AtomicLong());
+            }
+        }
+
+        private synchronized State getState() {
+            return state;
+        }
+
+        private synchronized Call tryCall() {
+            if (state == State.OPEN) {
+                long remainingMillis = openedAtMillis + openMillis - clock.millis();
+                if (remainingMillis > 0) {
+                    rejected.incrementAndGet();
+                    return Call.rejected(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remainingMillis + 999)));
+                }
+                transition(State.HALF_OPEN);
+            }
+
+            if (state == State.HALF_OPEN) {
+                if (trialsInFlight + trialSuccesses >= halfOpenMaxCalls) {
+                    rejected.incrementAndGet();
+                    return Call.rejected(HALF_OPEN_RETRY_AFTER_SECONDS);
+                }
+                trialsInFlight++;
+            }
+
+            return new Call(this, generation);
+        }
+
+        private synchronized void onSuccess(long callGeneration) {
+            if (callGeneration != generation) {
+                return;
+            }
+
+            if (state == State.HALF_OPEN) {
+                trialsInFlight--;
+                if (++trialSuccesses >= halfOpenMaxCalls) {
+                    transition(State.CLOSED);
+                }
+            } else {
+                consecutiveFailures = 0;
+            }
+        }
+
+        private synchronized void onFailure(long callGeneration) {
+            if (callGeneration != generation) {
+                return;
+            }
+
+            if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+                transition(State.OPEN);
+            }
+        }
+
+        private synchronized void onRelease(long callGeneration) {
+            if (callGeneration == generation && state == State.HALF_OPEN) {
+                trialsInFlight--;
+            }
+        }
+
+        private void transition(State next) {
+            state = next;
+            generation++;
+            consecutiveFailures = 0;
+            trialsInFlight = 0;
+            trialSuccesses = 0;
+            if (next == State.OPEN) {
+                openedAtMillis = clock.millis();
+            }
+            transitions.get(next).incrementAndGet();
+            System.out.println("Circuit for " + family + " upstream calls is now " + next);
+        }
+    }
+
+    public static final class Call {
+        private static final Call UNGUARDED = new Call(null, 0);
+
+        private final Circuit circuit;
+        private final long generation;
+        private final long retryAfterSeconds;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Call(Circuit circuit, long generation) {
+            this(circuit, generation, 0);
+        }
+
+        private Call(Circuit circuit, long generation, long retryAfterSeconds) {
+            this.circuit = circuit;
+            this.generation = generation;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        private static Call rejected(long retryAfterSeconds) {
+            return new Call(null, 0, retryAfterSeconds);
+        }
+
+        public boolean permitted() {
+            return retryAfterSeconds == 0;
+        }
+
+        public long retryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        // Only timeouts, I/O errors and 5xx count against Spotify; a 4xx answer proves it is up
+        public void complete(Throwable error) {
+            if (circuit == null || !completed.compareAndSet(false, true)) {
+                return;
+            }
+
+            Throwable cause = error != null ? AsyncUtils.unwrap(error) : null;
+            if (cause instanceof HttpClientErrorException.TooManyRequests) {
+                // Throttling is the rate-limit governor's concern, not a sign of an outage
+                circuit.onRelease(generation);
+            } else if (cause == null || cause instanceof HttpClientErrorException) {
+                circuit.onSuccess(generation);
+            } else {
+                circuit.onFailure(generation);
+            }
+        }
+
+        // For calls that were admitted but never sent
+        public void release() {
+            if (circuit != null && completed.compareAndSet(false, true)) {
+                circuit.onRelease(generation);
+            }
+        }
+    }
+}
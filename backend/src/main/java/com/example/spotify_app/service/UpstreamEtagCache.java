@@ -0,0 +1,71 @@
+package com.example.spotify_app.service;
+
+import org.springframework.stereotype.Component;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import com.example.spotify_app.config.ConditionalRequestConfig;
+
+@Component
+public class UpstreamEtagCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Cache<String, Entry> cache;
+
+    public UpstreamEtagCache(ConditionalRequestConfig conditionalRequestConfig) {
+        this.enabled = conditionalRequestConfig.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(conditionalRequestConfig.getMaxEntries())
+                .recordStats()
+                .build();
+    }
+
+    public Entry get(String apiEndpoint, Class<?> responseType) {
+        if (!isCacheable(apiEndpoint)) {
+            return null;
+        }
+
+        Entry entry = cache.getIfPresent(key(apiEndpoint, responseType));
+        return entry != null && responseType.isInstance(entry.body()) ? entry : null;
+    }
+
+    public void put(String apiEndpoint, Class<?> responseType, String etag, Object body) {
+        if (etag == null || body == null || !isCacheable(apiEndpoint)) {
+            return;
+        }
+
+        cache.put(key(apiEndpoint, responseType), new Entry(etag, body));
+    }
+
+    // For a body that arrived without its own ETag, e.g. one entity out of a batched response; it only serves the
+    // circuit-open fallback and never replaces an entry that can still be revalidated
+    public void putStale(String apiEndpoint, Class<?> responseType, Object body) {
+        if (body == null || !isCacheable(apiEndpoint)) {
+            return;
+        }
+
+        cache.asMap().compute(key(apiEndpoint, responseType),
+                (key, current) -> current != null && current.etag() != null ? current : new Entry(null, body));
+    }
+
+    // Anything under /me differs per user, so a stored body could leak one user's data to another
+    private boolean isCacheable(String apiEndpoint) {
+        return enabled && !apiEndpoint.equals("/me") && !apiEndpoint.startsWith("/me/")
+                && !apiEndpoint.startsWith("/me?");
+    }
+
+    private String key(String apiEndpoint, Class<?> responseType) {
+        return responseType.getName() + " " + apiEndpoint;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "spotify.upstream.etag");
+    }
+
+    public record Entry(String etag, Object body) {
+    }
+}
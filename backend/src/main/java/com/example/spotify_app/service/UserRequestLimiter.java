@@ -0,0 +1,159 @@
+package com.example.spotify_app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.spotify_app.config.RateLimitConfig;
+
+// Per-user share of the outbound budget; each user's state is a pair of atomics, so callers never block each other
+@Component
+public class UserRequestLimiter implements MeterBinder {
+
+    private static final Duration IDLE_USER_EXPIRY = Duration.ofMinutes(10);
+    private static final long CONCURRENCY_RETRY_AFTER_SECONDS = 1;
+
+    private final int maxConcurrent;
+    private final long intervalMicros;
+    private final long burstToleranceMicros;
+    private final Clock clock;
+    private final Cache<String, UserBudget> budgets;
+
+    private final LongAdder concurrencyRejections = new LongAdder();
+    private final LongAdder rateRejections = new LongAdder();
+
+    @Autowired
+    public UserRequestLimiter(RateLimitConfig rateLimitConfig) {
+        this(rateLimitConfig, Clock.systemUTC());
+    }
+
+    UserRequestLimiter(RateLimitConfig rateLimitConfig, Clock clock) {
+        this.maxConcurrent = rateLimitConfig.getPerUserMaxConcurrent();
+        double permitsPerSecond = rateLimitConfig.getPerUserPermitsPerSecond();
+        this.intervalMicros = permitsPerSecond > 0 ? (long) Math.ceil(1_000_000 / permitsPerSecond) : 0;
+        this.burstToleranceMicros = intervalMicros * (Math.max(1, rateLimitConfig.getPerUserBurst()) - 1);
+        this.clock = clock;
+        // Bounded so a flood of distinct users between idle expiries cannot grow the heap without limit
+        this.budgets = Caffeine.newBuilder()
+                .maximumSize(rateLimitConfig.getPerUserMaxTrackedUsers())
+                .expireAfterAccess(IDLE_USER_EXPIRY)
+                .build();
+    }
+
+    public Permit tryAcquire(String userId) {
+        if ((maxConcurrent <= 0 && intervalMicros == 0) || userId == null) {
+            return Permit.UNLIMITED;
+        }
+
+        UserBudget budget = budgets.get(userId, key -> new UserBudget());
+
+        if (maxConcurrent > 0 && budget.inFlight.incrementAndGet() > maxConcurrent) {
+            budget.inFlight.decrementAndGet();
+            concurrencyRejections.increment();
+            return Permit.rejected(CONCURRENCY_RETRY_AFTER_SECONDS);
+        }
+
+        long waitMicros = reserve(budget);
+        if (waitMicros > 0) {
+            if (maxConcurrent > 0) {
+                budget.inFlight.decrementAndGet();
+            }
+            rateRejections.increment();
+            return Permit.rejected(Math.max(1, TimeUnit.MICROSECONDS.toSeconds(waitMicros + 999_999)));
+        }
+
+        return maxConcurrent > 0 ? new Permit(true, 0, budget.inFlight) : Permit.UNLIMITED;
+    }
+
+    long trackedUsers() {
+        budgets.cleanUp();
+        return budgets.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("spotify.ratelimit.user.rejected", concurrencyRejections, LongAdder::sum)
+                .tag("reason", "concurrency")
+                .description("Requests refused because the user already had too many Spotify calls in flight")
+                .register(registry);
+        FunctionCounter.builder("spotify.ratelimit.user.rejected", rateRejections, LongAdder::sum)
+                .tag("reason", "rate")
+                .description("Requests refused because the user exceeded their request rate")
+                .register(registry);
+        Gauge.builder("spotify.ratelimit.user.tracked", budgets, Cache::estimatedSize)
+                .description("Users with recent Spotify calls")
+                .register(registry);
+    }
+
+    // Generic cell rate algorithm: one CAS on the user's theoretical arrival time, 0 when the call may go now
+    private long reserve(UserBudget budget) {
+        if (intervalMicros == 0) {
+            return 0;
+        }
+
+        long now = TimeUnit.MILLISECONDS.toMicros(clock.millis());
+        while (true) {
+            long current = budget.arrivalMicros.get();
+            long arrival = Math.max(current, now);
+            long waitMicros = arrival - now - burstToleranceMicros;
+            if (waitMicros > 0) {
+                return waitMicros;
+            }
+            if (budget.arrivalMicros.compareAndSet(current, arrival + intervalMicros)) {
+                return 0;
+            }
+        }
+    }
+
+    private static final class UserBudget {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong arrivalMicros = new AtomicLong();
+    }
+
+    public static final class Permit {
+        private static final Permit UNLIMITED = new Permit(true, 0, null);
+
+        private final boolean granted;
+        private final long retryAfterSeconds;
+        private final AtomicInteger inFlight;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(boolean granted, long retryAfterSeconds, AtomicInteger inFlight) {
+            this.granted = granted;
+            this.retryAfterSeconds = retryAfterSeconds;
+            this.inFlight = inFlight;
+        }
+
+        private static Permit rejected(long retryAfterSeconds) {
+            return new Permit(false, retryAfterSeconds, null);
+        }
+
+        public boolean granted() {
+            return granted;
+        }
+
+        public long retryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        // Safe to call more than once; only the first call frees the slot
+        public void release() {
+            if (inFlight != null && released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.spotify_app.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncUtils {
+
+    private AsyncUtils() {
+    }
+
+    public static Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    public static <T> CompletableFuture<ResponseEntity<T>> withTimeout(CompletableFuture<ResponseEntity<T>> section,
+            long timeoutMillis) {
+        // Time out a copy so a late response still completes the original, and whatever caches it
+        return section.copy()
+                .completeOnTimeout(ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build(), timeoutMillis,
+                        TimeUnit.MILLISECONDS)
+                .exceptionally(e -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    }
+
+    // Body of a composite response's section, or null with its status recorded when the section failed
+    public static <T> T sectionBody(String section, ResponseEntity<T> response, Map<String, Integer> failedSections) {
+        if (response.getStatusCode() == HttpStatus.OK) {
+            return response.getBody();
+        }
+
+        failedSections.put(section, response.getStatusCode().value());
+        return null;
+    }
+}
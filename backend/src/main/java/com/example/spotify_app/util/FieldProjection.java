@@ -0,0 +1,100 @@
+package com.example.spotify_app.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+public class FieldProjection {
+
+    private final TokenFilter filter;
+
+    private FieldProjection(TokenFilter filter) {
+        this.filter = filter;
+    }
+
+    // "id,album.name,album.images.url" -> only those paths; array levels are transparent
+    public static FieldProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        PathNode root = new PathNode();
+        for (String field : fields.split(",")) {
+            PathNode node = root;
+            for (String segment : field.trim().split("\\.")) {
+                if (segment.isEmpty() || node.wholeValue) {
+                    continue;
+                }
+                node = node.children.computeIfAbsent(segment, name -> new PathNode());
+            }
+            if (node != root) {
+                node.wholeValue = true;
+                node.children.clear();
+            }
+        }
+
+        return root.children.isEmpty() ? null : new FieldProjection(root.toFilter());
+    }
+
+    // Objects are filtered while they serialize, pass-through JSON bytes while they are parsed
+    public void write(ObjectMapper objectMapper, Object body, OutputStream out) throws IOException {
+        try (JsonGenerator generator = new FilteringGeneratorDelegate(objectMapper.createGenerator(out), filter,
+                TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true)) {
+            if (body instanceof byte[] json) {
+                try (JsonParser parser = objectMapper.createParser(json)) {
+                    if (parser.nextToken() != null) {
+                        generator.copyCurrentStructure(parser);
+                    }
+                }
+            } else {
+                objectMapper.writeValue(generator, body);
+            }
+        }
+    }
+
+    private static final class PathNode {
+        private final Map<String, PathNode> children = new HashMap<>();
+        private boolean wholeValue;
+
+        private TokenFilter toFilter() {
+            if (wholeValue) {
+                return TokenFilter.INCLUDE_ALL;
+            }
+
+            Map<String, TokenFilter> childFilters = new HashMap<>();
+            children.forEach((name, child) -> childFilters.put(name, child.toFilter()));
+            return new PathFilter(childFilters);
+        }
+    }
+
+    private static final class PathFilter extends TokenFilter {
+        private final Map<String, TokenFilter> children;
+
+        private PathFilter(Map<String, TokenFilter> children) {
+            this.children = children;
+        }
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return children.get(name);
+        }
+
+        // Keeps the root and array elements present even when none of their fields were requested
+        @Override
+        public boolean includeEmptyObject(boolean contentsFiltered) {
+            return true;
+        }
+
+        @Override
+        public boolean includeEmptyArray(boolean contentsFiltered) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.spotify_app.benchmark;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+@Tag("benchmark")
+class TokenClientBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 2000;
+    private static final String CLIENT_ID = "benchmark_client_id";
+    private static final String CLIENT_SECRET = "benchmark_client_secret";
+    private static final String REQUEST_BODY = "grant_type=refresh_token&refresh_token=benchmark_refresh_token";
+    private static final byte[] TOKEN_JSON = ("{\"access_token\":\"new_access_token\",\"token_type\":\"Bearer\","
+            + "\"expires_in\":3600,\"scope\":\"user-top-read user-read-email\"}").getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String tokenUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/token", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, TOKEN_JSON.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(TOKEN_JSON);
+            }
+        });
+        server.start();
+        tokenUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/token";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void refreshCost_perCallClientVersusSharedPooledClient() throws Exception {
+        double perCallMicros = measure(this::refreshWithNewClient);
+
+        try (CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(10)
+                        .setMaxConnPerRoute(10)
+                        .build())
+                .build()) {
+            RestClient tokenClient = RestClient.builder()
+                    .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                    .defaultHeaders(headers -> {
+                        headers.setBasicAuth(CLIENT_ID, CLIENT_SECRET);
+                        headers.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+                    })
+                    .build();
+
+            double pooledMicros = measure(() -> refreshWithSharedClient(tokenClient));
+
+            System.out.printf("Token refresh, RestClient.create() per call: %.1f us/op%n", perCallMicros);
+            System.out.printf("Token refresh, shared pooled token client:  %.1f us/op%n", pooledMicros);
+            System.out.printf("Speedup: %.2fx (plain HTTP on loopback; TLS to Spotify widens the gap)%n",
+                    perCallMicros / pooledMicros);
+        }
+    }
+
+    private SpotifyTokenResponse refreshWithNewClient() {
+        RestClient restClient = RestClient.create();
+        String auth = CLIENT_ID + ":" + CLIENT_SECRET;
+        String encodedAuth = Base64.getEncoder().encodeToString(auth.getBytes());
+
+        return restClient.post()
+                .uri(tokenUrl)
+                .header("Authorization", "Basic " + encodedAuth)
+                .header("Content-Type", MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                .body(REQUEST_BODY)
+                .retrieve()
+                .body(SpotifyTokenResponse.class);
+    }
+
+    private SpotifyTokenResponse refreshWithSharedClient(RestClient tokenClient) {
+        return tokenClient.post()
+                .uri(tokenUrl)
+                .body(REQUEST_BODY)
+                .retrieve()
+                .body(SpotifyTokenResponse.class);
+    }
+
+    private double measure(RefreshCall call) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertNotNull(call.refresh());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            assertNotNull(call.refresh());
+        }
+        return (System.nanoTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface RefreshCall {
+        SpotifyTokenResponse refresh() throws Exception;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.spotify_app.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.TokenStoreConfig;
+import com.example.spotify_app.model.SpotifyTokenResponse;
+import com.example.spotify_app.service.InMemoryTokenStore;
+import com.example.spotify_app.service.OffHeapTokenStore;
+import com.example.spotify_app.service.TokenStore;
+import com.example.spotify_app.util.UserIdGenerator;
+
+@Tag("benchmark")
+class TokenStoreFootprintBenchmarkTest {
+
+    private static final int SESSIONS = 500_000;
+    // Spotify access tokens are ~300 characters and refresh tokens ~130
+    private static final int ACCESS_TOKEN_BYTES = 225;
+    private static final int REFRESH_TOKEN_BYTES = 98;
+    private static final String TOKEN_TYPE = "Bearer";
+    private static final String SCOPES = "user-top-read user-read-email";
+
+    @Test
+    void bytesPerSession_inMemoryMapVersusOffHeap() throws Exception {
+        TokenStoreConfig storeConfig = mock(TokenStoreConfig.class);
+        when(storeConfig.getIdleTtlSeconds()).thenReturn(604_800L);
+        when(storeConfig.getAbsoluteTtlSeconds()).thenReturn(2_592_000L);
+        when(storeConfig.getMaxEntries()).thenReturn((long) SESSIONS * 2);
+
+        List<String> userIds = new ArrayList<>(SESSIONS);
+        for (int i = 0; i < SESSIONS; i++) {
+            userIds.add(UserIdGenerator.generateUserId());
+        }
+
+        Footprint inMemory = measure(userIds, new InMemoryTokenStore(storeConfig));
+        OffHeapTokenStore offHeapStore = new OffHeapTokenStore(storeConfig);
+        Footprint offHeap = measure(userIds, offHeapStore);
+        offHeapStore.close();
+
+        System.out.printf("%d sessions, %d-char access and %d-char refresh tokens%n", SESSIONS,
+                encodedLength(ACCESS_TOKEN_BYTES), encodedLength(REFRESH_TOKEN_BYTES));
+        System.out.printf("In-memory map: %6.0f heap + %6.0f direct bytes/session%n", inMemory.heapPerSession(),
+                inMemory.directPerSession());
+        System.out.printf("Off-heap:      %6.0f heap + %6.0f direct bytes/session%n", offHeap.heapPerSession(),
+                offHeap.directPerSession());
+        System.out.printf("Heap reduction: %.1fx, total reduction: %.1fx%n",
+                inMemory.heapPerSession() / offHeap.heapPerSession(),
+                inMemory.totalPerSession() / offHeap.totalPerSession());
+    }
+
+    // User ids are allocated up front so both stores are charged only for what they retain
+    private Footprint measure(List<String> userIds, TokenStore tokenStore) throws Exception {
+        long heapBefore = usedHeap();
+        long directBefore = usedDirect();
+
+        for (String userId : userIds) {
+            tokenStore.saveToken(userId, newToken());
+        }
+
+        long heapAfter = usedHeap();
+        long directAfter = usedDirect();
+        assertNotNull(tokenStore.getToken(userIds.get(userIds.size() - 1)));
+
+        return new Footprint((double) (heapAfter - heapBefore) / userIds.size(),
+                (double) (directAfter - directBefore) / userIds.size());
+    }
+
+    // A fresh response per session, with its own copies of scope and token_type as JSON parsing produces
+    private SpotifyTokenResponse newToken() {
+        return new SpotifyTokenResponse(randomToken(ACCESS_TOKEN_BYTES), new String(TOKEN_TYPE),
+                randomToken(REFRESH_TOKEN_BYTES), 3600, new String(SCOPES));
+    }
+
+    private String randomToken(int bytes) {
+        byte[] value = new byte[bytes];
+        ThreadLocalRandom.current().nextBytes(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
+    private int encodedLength(int bytes) {
+        return (bytes * 4 + 2) / 3;
+    }
+
+    private long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private long usedDirect() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private record Footprint(double heapPerSession, double directPerSession) {
+        double totalPerSession() {
+            return heapPerSession + directPerSession;
+        }
+    }
+}
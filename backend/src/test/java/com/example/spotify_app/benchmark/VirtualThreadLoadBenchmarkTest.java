@@ -0,0 +1,172 @@
+package com.example.spotify_app.benchmark;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.CircuitBreakerConfig;
+import com.example.spotify_app.config.ConditionalRequestConfig;
+import com.example.spotify_app.config.RateLimitConfig;
+import com.example.spotify_app.config.RetryConfig;
+import com.example.spotify_app.config.SpotifyConfig;
+import com.example.spotify_app.config.TokenStoreConfig;
+import com.example.spotify_app.model.SpotifyTokenResponse;
+import com.example.spotify_app.service.InMemoryTokenStore;
+import com.example.spotify_app.service.RateLimitGovernor;
+import com.example.spotify_app.service.SpotifyApiClient;
+import com.example.spotify_app.service.TokenRefreshCoordinator;
+import com.example.spotify_app.service.TokenStore;
+import com.example.spotify_app.service.UpstreamCircuitBreaker;
+import com.example.spotify_app.service.UserRequestLimiter;
+import com.example.spotify_app.service.UpstreamEtagCache;
+import com.example.spotify_app.util.RetryUtils;
+
+@Tag("benchmark")
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final int WARMUP_REQUESTS = 200;
+    private static final int MEASURED_REQUESTS = 4000;
+    private static final int PLATFORM_THREADS = 64;
+    private static final int MAX_CONNECTIONS = 1000;
+    private static final long UPSTREAM_LATENCY_MS = 50;
+    private static final String USER_ID = "benchmark_user";
+    private static final String ENDPOINT = "/tracks/benchmark_track";
+    private static final byte[] TRACK_JSON = "{\"id\":\"benchmark_track\",\"name\":\"Benchmark Track\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String apiUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), MAX_CONNECTIONS);
+        server.setExecutor(serverExecutor);
+        server.createContext("/v1/tracks", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, TRACK_JSON.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(TRACK_JSON);
+            }
+        });
+        server.start();
+        apiUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void throughput_platformThreadPoolVersusVirtualThreads() throws Exception {
+        double platformRps = runLoad(false);
+        double virtualRps = runLoad(true);
+
+        System.out.printf("Stand-in Spotify latency %d ms, %d requests%n", UPSTREAM_LATENCY_MS, MEASURED_REQUESTS);
+        System.out.printf("Platform threads (%d request + %d io): %.0f req/s%n", PLATFORM_THREADS, PLATFORM_THREADS,
+                platformRps);
+        System.out.printf("Virtual threads (per request + per call):  %.0f req/s%n", virtualRps);
+        System.out.printf("Speedup: %.2fx%n", virtualRps / platformRps);
+    }
+
+    private double runLoad(boolean virtualThreads) throws Exception {
+        try (CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(MAX_CONNECTIONS)
+                        .setMaxConnPerRoute(MAX_CONNECTIONS)
+                        .build())
+                .build();
+                ExecutorService ioExecutor = newExecutor(virtualThreads);
+                ExecutorService requestExecutor = newExecutor(virtualThreads)) {
+            RestClient restClient = RestClient.builder()
+                    .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                    .build();
+            SpotifyApiClient apiClient = apiClient(restClient, ioExecutor);
+
+            sendRequests(apiClient, requestExecutor, WARMUP_REQUESTS);
+
+            long start = System.nanoTime();
+            sendRequests(apiClient, requestExecutor, MEASURED_REQUESTS);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            return MEASURED_REQUESTS / seconds;
+        }
+    }
+
+    // Each task blocks on the response, as a servlet thread does when a controller waits on the client
+    private void sendRequests(SpotifyApiClient apiClient, ExecutorService requestExecutor, int count)
+            throws Exception {
+        List<Future<ResponseEntity<String>>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(requestExecutor.submit(() -> apiClient.makeRequest(USER_ID, ENDPOINT, String.class).join()));
+        }
+        for (Future<ResponseEntity<String>> result : results) {
+            assertEquals(HttpStatus.OK, result.get().getStatusCode());
+        }
+    }
+
+    private ExecutorService newExecutor(boolean virtualThreads) {
+        return virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    private SpotifyApiClient apiClient(RestClient restClient, ExecutorService ioExecutor) {
+        TokenStoreConfig storeConfig = mock(TokenStoreConfig.class);
+        when(storeConfig.getIdleTtlSeconds()).thenReturn(604_800L);
+        when(storeConfig.getAbsoluteTtlSeconds()).thenReturn(2_592_000L);
+        when(storeConfig.getMaxEntries()).thenReturn(1_000L);
+        TokenStore tokenStore = new InMemoryTokenStore(storeConfig);
+        tokenStore.saveToken(USER_ID,
+                new SpotifyTokenResponse("benchmark_access_token", "Bearer", "benchmark_refresh", 3600, "user-top-read"));
+
+        SpotifyConfig spotifyConfig = mock(SpotifyConfig.class);
+        when(spotifyConfig.getApiUrl()).thenReturn(apiUrl);
+
+        RetryConfig retryConfig = mock(RetryConfig.class);
+        when(retryConfig.getMaxRetryAttempts()).thenReturn(3);
+
+        RateLimitConfig rateLimitConfig = mock(RateLimitConfig.class);
+        when(rateLimitConfig.getPermitsPerSecond()).thenReturn(0.0);
+        when(rateLimitConfig.getBurst()).thenReturn(1);
+        when(rateLimitConfig.getMaxQueueWaitSeconds()).thenReturn(30L);
+        when(rateLimitConfig.getMaxQueueDepth()).thenReturn(MAX_CONNECTIONS);
+
+        return new SpotifyApiClient(tokenStore, spotifyConfig, retryConfig, new RetryUtils(retryConfig),
+                mock(TokenRefreshCoordinator.class), new RateLimitGovernor(rateLimitConfig),
+                new UserRequestLimiter(rateLimitConfig), new UpstreamCircuitBreaker(mock(CircuitBreakerConfig.class)),
+                new UpstreamEtagCache(mock(ConditionalRequestConfig.class)), restClient, ioExecutor);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.spotify_app.config;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.service.SpotifySearchService;
+
+// MockMvc skips the servlet container, so this goes through the embedded Tomcat to see what it really compresses
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CatalogCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private SpotifySearchService searchService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private byte[] searchBody;
+
+    private static final String USER_ID = "user123";
+
+    @BeforeEach
+    void setUp() {
+        StringBuilder json = new StringBuilder("{\"artists\":{\"items\":[");
+        for (int i = 0; i < 200; i++) {
+            json.append(i > 0 ? "," : "").append("{\"id\":\"artist").append(i).append("\",\"name\":\"Artist ")
+                    .append(i).append("\",\"type\":\"artist\"}");
+        }
+        searchBody = json.append("]}}").toString().getBytes(StandardCharsets.UTF_8);
+        when(searchService.searchRaw(USER_ID, "queen", "artist", 20, 0))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(searchBody)));
+    }
+
+    @Test
+    void search_LargeResponseAcceptingGzip_isGzipEncodedWithWeakEtag() throws Exception {
+        // When
+        HttpResponse<byte[]> response = httpClient.send(searchRequest().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        assertTrue(response.headers().firstValue(HttpHeaders.ETAG).orElseThrow().startsWith("W/\""));
+        assertTrue(response.body().length < searchBody.length);
+        assertArrayEquals(searchBody, gunzip(response.body()));
+    }
+
+    @Test
+    void search_WeakEtagSentBack_returnsNotModified() throws Exception {
+        // Given
+        String etag = httpClient.send(searchRequest().build(), HttpResponse.BodyHandlers.discarding())
+                .headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+
+        // When
+        HttpResponse<byte[]> response = httpClient.send(searchRequest().header(HttpHeaders.IF_NONE_MATCH, etag).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // Then
+        assertEquals(304, response.statusCode());
+        assertEquals(0, response.body().length);
+    }
+
+    private HttpRequest.Builder searchRequest() {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/search?q=queen&type=artist"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + USER_ID)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
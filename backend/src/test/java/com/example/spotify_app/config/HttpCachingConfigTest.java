@@ -0,0 +1,148 @@
+package com.example.spotify_app.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class HttpCachingConfigTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        HttpCachingConfig httpCachingConfig = new HttpCachingConfig();
+        ReflectionTestUtils.setField(httpCachingConfig, "catalogMaxAgeSeconds", 300L);
+        ReflectionTestUtils.setField(httpCachingConfig, "searchMaxAgeSeconds", 60L);
+        FilterRegistrationBean<HttpCachingConfig.CatalogEtagFilter> registration = httpCachingConfig
+                .catalogEtagFilter();
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new CatalogTestController())
+                .addFilter(registration.getFilter(), registration.getUrlPatterns().toArray(new String[0]))
+                .build();
+    }
+
+    @Test
+    void get_CatalogResponse_addsEtagAndPrivateMaxAge() throws Exception {
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/api/tracks/track1")).andReturn().getResponse();
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertTrue(response.getHeader(HttpHeaders.ETAG).startsWith("W/\""));
+        assertEquals("max-age=300, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void get_SearchResponse_usesSearchMaxAge() throws Exception {
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/api/search")).andReturn().getResponse();
+
+        // Then
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals("max-age=60, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void get_MatchingIfNoneMatch_returnsNotModifiedWithoutBody() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/api/tracks/track1")).andReturn().getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/api/tracks/track1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn().getResponse();
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void get_AsyncCatalogResponse_addsEtagAfterAsyncDispatch() throws Exception {
+        // Given
+        MvcResult started = mockMvc.perform(get("/api/artists/artist1")).andReturn();
+        assertTrue(started.getRequest().isAsyncStarted());
+
+        // When
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(started)).andReturn().getResponse();
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertTrue(response.getHeader(HttpHeaders.ETAG).startsWith("W/\""));
+        assertEquals("max-age=300, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertTrue(response.getContentAsString().contains("artist1"));
+    }
+
+    @Test
+    void get_UnlistedPath_hasNoEtag() throws Exception {
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/api/me/top")).andReturn().getResponse();
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertNull(response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void get_ErrorResponse_hasNoFreshnessLifetime() throws Exception {
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/api/albums/missing")).andReturn().getResponse();
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertNull(response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @RestController
+    public static class CatalogTestController {
+
+        @GetMapping("/api/artists/{id}")
+        public CompletableFuture<ResponseEntity<Map<String, String>>> artist(@PathVariable("id") String id) {
+            return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(Map.of("id", id)));
+        }
+
+        @GetMapping("/api/tracks/{id}")
+        public ResponseEntity<Map<String, String>> track(@PathVariable("id") String id) {
+            return ResponseEntity.ok(Map.of("id", id));
+        }
+
+        @GetMapping("/api/albums/{id}")
+        public ResponseEntity<Map<String, String>> album(@PathVariable("id") String id) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        @GetMapping("/api/search")
+        public ResponseEntity<Map<String, String>> search() {
+            return ResponseEntity.ok(Map.of("query", "test"));
+        }
+
+        @GetMapping("/api/me/top")
+        public ResponseEntity<Map<String, String>> top() {
+            return ResponseEntity.ok(Map.of("id", "top"));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.spotify_app.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class FieldProjectionAdviceTest {
+
+    private FieldProjectionAdvice fieldProjectionAdvice;
+
+    private MockHttpServletRequest servletRequest;
+
+    private MockHttpServletResponse servletResponse;
+
+    @BeforeEach
+    void setUp() {
+        fieldProjectionAdvice = new FieldProjectionAdvice(new ObjectMapper());
+        servletRequest = new MockHttpServletRequest("GET", "/api/tracks/track_1");
+        servletResponse = new MockHttpServletResponse();
+    }
+
+    @Test
+    void beforeBodyWrite_FieldsParameter_writesProjectedJson() throws Exception {
+        // Given
+        servletRequest.setParameter("fields", "id");
+        byte[] body = "{\"id\":\"track_1\",\"name\":\"Song\"}".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        Object result = beforeBodyWrite(body, MediaType.APPLICATION_JSON, ByteArrayHttpMessageConverter.class);
+
+        // Then
+        assertNull(result);
+        assertEquals("{\"id\":\"track_1\"}", servletResponse.getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, servletResponse.getContentType());
+    }
+
+    @Test
+    void beforeBodyWrite_NoFieldsParameter_returnsBodyUnchanged() {
+        // Given
+        Map<String, String> body = Map.of("id", "track_1");
+
+        // When
+        Object result = beforeBodyWrite(body, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class);
+
+        // Then
+        assertSame(body, result);
+        assertEquals(0, servletResponse.getContentAsByteArray().length);
+    }
+
+    @Test
+    void beforeBodyWrite_NonJsonResponse_returnsBodyUnchanged() {
+        // Given
+        servletRequest.setParameter("fields", "id");
+        byte[] body = new byte[] { 1, 2, 3 };
+
+        // When
+        Object result = beforeBodyWrite(body, MediaType.APPLICATION_OCTET_STREAM,
+                ByteArrayHttpMessageConverter.class);
+
+        // Then
+        assertSame(body, result);
+    }
+
+    private Object beforeBodyWrite(Object body, MediaType contentType,
+            Class<? extends HttpMessageConverter<?>> converterType) {
+        return fieldProjectionAdvice.beforeBodyWrite(body, null, contentType, converterType,
+                new ServletServerHttpRequest(servletRequest), new ServletServerHttpResponse(servletResponse));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.spotify_app.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.CompressionConfig;
+import com.example.spotify_app.model.Artist.Artist;
+
+@ExtendWith(MockitoExtension.class)
+class PrecompressedCatalogAdviceTest {
+
+    @Mock
+    private CompressionConfig compressionConfig;
+
+    private ObjectMapper objectMapper;
+
+    private PrecompressedCatalogAdvice precompressedCatalogAdvice;
+
+    private static final String GZIP = "gzip";
+
+    @BeforeEach
+    void setUp() {
+        when(compressionConfig.getPrecompressedMaxEntries()).thenReturn(100L);
+        objectMapper = spy(new ObjectMapper());
+    }
+
+    @Test
+    void beforeBodyWrite_CatalogEntryAcceptingGzip_writesCompressedJson() throws IOException {
+        // Given
+        when(compressionConfig.getMinResponseBytes()).thenReturn(0);
+        precompressedCatalogAdvice = new PrecompressedCatalogAdvice(objectMapper, compressionConfig);
+        Artist artist = new Artist();
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // When
+        Object result = beforeBodyWrite(artist, GZIP, servletResponse);
+
+        // Then
+        assertNull(result);
+        assertEquals(GZIP, servletResponse.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(objectMapper.writeValueAsString(artist), gunzip(servletResponse.getContentAsByteArray()));
+    }
+
+    @Test
+    void beforeBodyWrite_SameEntryTwice_compressesOnce() throws IOException {
+        // Given
+        when(compressionConfig.getMinResponseBytes()).thenReturn(0);
+        precompressedCatalogAdvice = new PrecompressedCatalogAdvice(objectMapper, compressionConfig);
+        Artist artist = new Artist();
+
+        // When
+        beforeBodyWrite(artist, GZIP, new MockHttpServletResponse());
+        beforeBodyWrite(artist, GZIP, new MockHttpServletResponse());
+
+        // Then
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+    }
+
+    @Test
+    void beforeBodyWrite_BelowThreshold_returnsBodyUncompressed() {
+        // Given
+        when(compressionConfig.getMinResponseBytes()).thenReturn(1_000_000);
+        precompressedCatalogAdvice = new PrecompressedCatalogAdvice(objectMapper, compressionConfig);
+        Artist artist = new Artist();
+
+        // When
+        Object result = beforeBodyWrite(artist, GZIP, new MockHttpServletResponse());
+
+        // Then
+        assertSame(artist, result);
+    }
+
+    @Test
+    void beforeBodyWrite_GzipNotAccepted_returnsBodyUncompressed() {
+        // Given
+        when(compressionConfig.getMinResponseBytes()).thenReturn(0);
+        precompressedCatalogAdvice = new PrecompressedCatalogAdvice(objectMapper, compressionConfig);
+        Artist artist = new Artist();
+
+        // When
+        Object result = beforeBodyWrite(artist, "gzip;q=0, identity", new MockHttpServletResponse());
+
+        // Then
+        assertSame(artist, result);
+    }
+
+    private Object beforeBodyWrite(Object body, String acceptEncoding, MockHttpServletResponse servletResponse) {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/artists/artist_1");
+        servletRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return precompressedCatalogAdvice.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class, new ServletServerHttpRequest(servletRequest),
+                new ServletServerHttpResponse(servletResponse));
+    }
+
+    private String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
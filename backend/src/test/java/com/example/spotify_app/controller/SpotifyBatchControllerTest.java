@@ -0,0 +1,97 @@
+package com.example.spotify_app.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.model.Batch.BatchItemRequest;
+import com.example.spotify_app.model.Batch.BatchRequest;
+import com.example.spotify_app.model.Batch.BatchResponse;
+import com.example.spotify_app.service.SpotifyBatchService;
+import com.example.spotify_app.util.AuthUtils;
+
+@ExtendWith(MockitoExtension.class)
+class SpotifyBatchControllerTest {
+
+    @Mock
+    private SpotifyBatchService batchService;
+
+    private SpotifyBatchController spotifyBatchController;
+
+    private static final String TEST_AUTH_HEADER = "Bearer test-token";
+    private static final String TEST_USER_ID = "test-user-123";
+    private static final List<BatchItemRequest> TEST_ITEMS = List.of(
+            new BatchItemRequest("a", "artist", "artist1", null, null, null, null));
+
+    @BeforeEach
+    void setUp() {
+        spotifyBatchController = new SpotifyBatchController(batchService);
+    }
+
+    @Test
+    void executeBatch_ValidAuthHeader_returnsBatchResponse() {
+        // Given
+        ResponseEntity<BatchResponse> mockResponseEntity = ResponseEntity.ok(new BatchResponse(List.of()));
+
+        try (MockedStatic<AuthUtils> authUtilsMock = mockStatic(AuthUtils.class)) {
+            authUtilsMock.when(() -> AuthUtils.extractUserId(TEST_AUTH_HEADER)).thenReturn(TEST_USER_ID);
+            when(batchService.execute(TEST_USER_ID, TEST_ITEMS))
+                    .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+            // When
+            ResponseEntity<BatchResponse> result = spotifyBatchController
+                    .executeBatch(TEST_AUTH_HEADER, new BatchRequest(TEST_ITEMS)).join();
+
+            // Then
+            assertEquals(mockResponseEntity, result);
+            verify(batchService).execute(TEST_USER_ID, TEST_ITEMS);
+        }
+    }
+
+    @Test
+    void executeBatch_InvalidAuthHeader_returnsUnauthorized() {
+        // Given
+        try (MockedStatic<AuthUtils> authUtilsMock = mockStatic(AuthUtils.class)) {
+            authUtilsMock.when(() -> AuthUtils.extractUserId(TEST_AUTH_HEADER)).thenReturn(null);
+
+            // When
+            ResponseEntity<BatchResponse> result = spotifyBatchController
+                    .executeBatch(TEST_AUTH_HEADER, new BatchRequest(TEST_ITEMS)).join();
+
+            // Then
+            assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
+            verifyNoInteractions(batchService);
+        }
+    }
+
+    @Test
+    void executeBatch_ServiceFailsAsynchronously_returnsInternalServerError() {
+        // Given
+        try (MockedStatic<AuthUtils> authUtilsMock = mockStatic(AuthUtils.class)) {
+            authUtilsMock.when(() -> AuthUtils.extractUserId(TEST_AUTH_HEADER)).thenReturn(TEST_USER_ID);
+            when(batchService.execute(TEST_USER_ID, TEST_ITEMS))
+                    .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Service error")));
+
+            // When
+            ResponseEntity<BatchResponse> result = spotifyBatchController
+                    .executeBatch(TEST_AUTH_HEADER, new BatchRequest(TEST_ITEMS)).join();
+
+            // Then
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, result.getStatusCode());
+        }
+    }
+}
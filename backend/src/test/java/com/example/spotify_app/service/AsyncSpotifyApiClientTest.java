@@ -0,0 +1,265 @@
+package com.example.spotify_app.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.CircuitBreakerConfig;
+import com.example.spotify_app.config.ConditionalRequestConfig;
+import com.example.spotify_app.config.HttpClientConfig;
+import com.example.spotify_app.config.RateLimitConfig;
+import com.example.spotify_app.config.RetryConfig;
+import com.example.spotify_app.config.SpotifyConfig;
+import com.example.spotify_app.model.SpotifyTokenResponse;
+import com.example.spotify_app.model.Artist.Artist;
+import com.example.spotify_app.util.RetryUtils;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncSpotifyApiClientTest {
+
+    @Mock
+    private TokenStore tokenStore;
+
+    @Mock
+    private SpotifyConfig spotifyConfig;
+
+    @Mock
+    private RetryConfig retryConfig;
+
+    @Mock
+    private RetryUtils retryUtils;
+
+    @Mock
+    private TokenRefreshCoordinator refreshCoordinator;
+
+    @Mock
+    private RateLimitConfig rateLimitConfig;
+
+    @Mock
+    private HttpClientConfig httpClientConfig;
+
+    @Mock
+    private ConditionalRequestConfig conditionalRequestConfig;
+
+    @Mock
+    private CircuitBreakerConfig circuitBreakerConfig;
+
+    @Mock
+    private RestClient restClient;
+
+    @Mock
+    private HttpClient httpClient;
+
+    private AsyncSpotifyApiClient asyncApiClient;
+
+    private static final String TEST_USER_ID = "test_user_id";
+    private static final String TEST_ACCESS_TOKEN = "test_access_token";
+    private static final String TEST_API_URL = "https://api.spotify.com/v1";
+    private static final String TEST_ENDPOINT = "/artists/artist_1";
+
+    @BeforeEach
+    void setUp() {
+        when(rateLimitConfig.getPermitsPerSecond()).thenReturn(100.0);
+        when(rateLimitConfig.getBurst()).thenReturn(100);
+        when(rateLimitConfig.getMaxQueueWaitSeconds()).thenReturn(30L);
+        when(rateLimitConfig.getMaxQueueDepth()).thenReturn(100);
+        when(httpClientConfig.getReadTimeoutMs()).thenReturn(10000L);
+        when(conditionalRequestConfig.isEnabled()).thenReturn(true);
+        when(conditionalRequestConfig.getMaxEntries()).thenReturn(100L);
+        asyncApiClient = new AsyncSpotifyApiClient(tokenStore, spotifyConfig, retryConfig, retryUtils,
+                refreshCoordinator, new RateLimitGovernor(rateLimitConfig), new UserRequestLimiter(rateLimitConfig),
+                new UpstreamCircuitBreaker(circuitBreakerConfig), new UpstreamEtagCache(conditionalRequestConfig),
+                restClient, Runnable::run, httpClient, new ObjectMapper(), httpClientConfig);
+    }
+
+    @Test
+    void makeRequest_SuccessfulResponse_parsesJsonBody() {
+        // Given
+        stubValidToken();
+        stubResponses(response(200, "{\"id\":\"artist_1\",\"name\":\"Test Artist\"}", Map.of()));
+
+        // When
+        ResponseEntity<Artist> result = asyncApiClient.makeRequest(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("artist_1", result.getBody().getId());
+        assertEquals("Test Artist", result.getBody().getName());
+        verifyNoInteractions(restClient);
+    }
+
+    @Test
+    void makeRequest_ByteArrayResponseType_returnsBodyUnparsed() {
+        // Given
+        stubValidToken();
+        stubResponses(response(200, "{\"id\":\"artist_1\"}", Map.of()));
+
+        // When
+        ResponseEntity<byte[]> result = asyncApiClient.makeRequest(TEST_USER_ID, TEST_ENDPOINT, byte[].class).join();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("{\"id\":\"artist_1\"}", new String(result.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void makeRequest_SendsBearerTokenToSpotifyUrl() {
+        // Given
+        stubValidToken();
+        stubResponses(response(200, "{}", Map.of()));
+
+        // When
+        asyncApiClient.makeRequest(TEST_USER_ID, TEST_ENDPOINT, String.class).join();
+
+        // Then
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).sendAsync(request.capture(), any());
+        assertEquals(TEST_API_URL + TEST_ENDPOINT, request.getValue().uri().toString());
+        assertEquals("Bearer " + TEST_ACCESS_TOKEN, request.getValue().headers().firstValue("Authorization").get());
+    }
+
+    @Test
+    void makeRequest_TooManyRequests_retriesAfterRetryAfter() {
+        // Given
+        stubValidToken();
+        when(retryUtils.getRetryAfterSeconds(any(HttpClientErrorException.TooManyRequests.class))).thenReturn(0L);
+        stubResponses(
+                response(429, "", Map.of("Retry-After", List.of("0"))),
+                response(200, "\"ok\"", Map.of()));
+
+        // When
+        ResponseEntity<String> result = asyncApiClient.makeRequest(TEST_USER_ID, TEST_ENDPOINT, String.class).join();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("\"ok\"", result.getBody());
+        verify(httpClient, times(2)).sendAsync(any(), any());
+    }
+
+    @Test
+    void makeRequest_Unauthorized_refreshesTokenAndRetries() {
+        // Given
+        SpotifyTokenResponse staleToken = new SpotifyTokenResponse();
+        staleToken.setAccessToken(TEST_ACCESS_TOKEN);
+        SpotifyTokenResponse freshToken = new SpotifyTokenResponse();
+        freshToken.setAccessToken("fresh_access_token");
+        when(tokenStore.getToken(TEST_USER_ID)).thenReturn(staleToken, freshToken);
+        when(spotifyConfig.getApiUrl()).thenReturn(TEST_API_URL);
+        when(retryConfig.getMaxRetryAttempts()).thenReturn(3);
+        when(refreshCoordinator.refresh(TEST_USER_ID, TEST_ACCESS_TOKEN))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        stubResponses(response(401, "", Map.of()), response(200, "{}", Map.of()));
+
+        // When
+        ResponseEntity<String> result = asyncApiClient.makeRequest(TEST_USER_ID, TEST_ENDPOINT, String.class).join();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        verify(refreshCoordinator).refresh(TEST_USER_ID, TEST_ACCESS_TOKEN);
+    }
+
+    @Test
+    void makeRequest_NotFound_returnsNotFound() {
+        // Given
+        stubValidToken();
+        stubResponses(response(404, "", Map.of()));
+
+        // When
+        ResponseEntity<Artist> result = asyncApiClient.makeRequest(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+        assertNull(result.getBody());
+    }
+
+    @Test
+    void makeRequest_ServerError_returnsInternalServerError() {
+        // Given
+        stubValidToken();
+        stubResponses(response(503, "", Map.of()));
+
+        // When
+        ResponseEntity<Artist> result = asyncApiClient.makeRequest(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+
+        // Then
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, result.getStatusCode());
+    }
+
+    @Test
+    void makeRequest_NotModified_sendsStoredEtagAndReusesBody() {
+        // Given
+        stubValidToken();
+        stubResponses(
+                response(200, "{\"id\":\"artist_1\"}", Map.of("ETag", List.of("\"v1\""))),
+                response(304, "", Map.of()));
+
+        // When
+        ResponseEntity<Artist> first = asyncApiClient.makeRequest(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+        ResponseEntity<Artist> second = asyncApiClient.makeRequest(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+
+        // Then
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, times(2)).sendAsync(request.capture(), any());
+        assertEquals("\"v1\"", request.getAllValues().get(1).headers().firstValue("If-None-Match").get());
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertSame(first.getBody(), second.getBody());
+    }
+
+    private void stubValidToken() {
+        SpotifyTokenResponse tokenResponse = new SpotifyTokenResponse();
+        tokenResponse.setAccessToken(TEST_ACCESS_TOKEN);
+        when(tokenStore.getToken(TEST_USER_ID)).thenReturn(tokenResponse);
+        when(spotifyConfig.getApiUrl()).thenReturn(TEST_API_URL);
+        when(retryConfig.getMaxRetryAttempts()).thenReturn(3);
+    }
+
+    @SafeVarargs
+    private void stubResponses(HttpResponse<byte[]>... responses) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[responses.length];
+        for (int i = 0; i < responses.length; i++) {
+            futures[i] = CompletableFuture.completedFuture(responses[i]);
+        }
+        doReturn(futures[0], (Object[]) Arrays.copyOfRange(futures, 1, futures.length))
+                .when(httpClient).sendAsync(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpResponse<byte[]> response(int status, String body, Map<String, List<String>> headers) {
+        HttpResponse<byte[]> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        if (status != 304) {
+            when(response.body()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+            when(response.headers()).thenReturn(HttpHeaders.of(headers, (name, value) -> true));
+        }
+        return response;
+    }
+}
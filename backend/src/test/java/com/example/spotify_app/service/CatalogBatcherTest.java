@@ -0,0 +1,291 @@
+package com.example.spotify_app.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.CatalogBatchConfig;
+import com.example.spotify_app.config.RateLimitConfig;
+import com.example.spotify_app.model.Artist.Artist;
+import com.example.spotify_app.model.Artist.ArtistTopTracksResponse;
+import com.example.spotify_app.model.Artist.SeveralArtistsResponse;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogBatcherTest {
+
+    @Mock
+    private SpotifyApiClient apiClient;
+
+    @Mock
+    private CatalogBatchConfig batchConfig;
+
+    @Mock
+    private RateLimitConfig rateLimitConfig;
+
+    private static final String TEST_USER_ID = "test-user-123";
+    private static final String OTHER_USER_ID = "other-user-456";
+    private static final long LONG_WINDOW_MS = 60000;
+
+    @Test
+    void fetch_BatchFills_sendsOneMultiIdRequest() {
+        // Given
+        CatalogBatcher catalogBatcher = batcher(true, LONG_WINDOW_MS, 2);
+        Artist first = new Artist();
+        Artist second = new Artist();
+        when(apiClient.getValidAccessToken(anyString())).thenReturn("access_token");
+        when(apiClient.makeBatchedRequest(TEST_USER_ID, "/artists?ids=artist1,artist2", SeveralArtistsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(
+                        ResponseEntity.ok(new SeveralArtistsResponse(new Artist[] { first, second }))));
+
+        // When
+        CompletableFuture<ResponseEntity<Artist>> firstResult = catalogBatcher.fetch(TEST_USER_ID, "/artists/artist1",
+                Artist.class);
+        CompletableFuture<ResponseEntity<Artist>> secondResult = catalogBatcher.fetch(OTHER_USER_ID,
+                "/artists/artist2", Artist.class);
+
+        // Then
+        assertSame(first, firstResult.join().getBody());
+        assertSame(second, secondResult.join().getBody());
+        verify(apiClient, times(1)).makeBatchedRequest(anyString(), anyString(), any());
+    }
+
+    @Test
+    void fetch_SameIdTwiceInWindow_requestsItOnce() {
+        // Given
+        CatalogBatcher catalogBatcher = batcher(true, LONG_WINDOW_MS, 2);
+        Artist first = new Artist();
+        Artist second = new Artist();
+        when(apiClient.getValidAccessToken(anyString())).thenReturn("access_token");
+        when(apiClient.makeBatchedRequest(TEST_USER_ID, "/artists?ids=artist1,artist2", SeveralArtistsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(
+                        ResponseEntity.ok(new SeveralArtistsResponse(new Artist[] { first, second }))));
+
+        // When
+        CompletableFuture<ResponseEntity<Artist>> firstResult = catalogBatcher.fetch(TEST_USER_ID, "/artists/artist1",
+                Artist.class);
+        CompletableFuture<ResponseEntity<Artist>> duplicateResult = catalogBatcher.fetch(OTHER_USER_ID,
+                "/artists/artist1", Artist.class);
+        catalogBatcher.fetch(TEST_USER_ID, "/artists/artist2", Artist.class);
+
+        // Then
+        assertSame(first, firstResult.join().getBody());
+        assertSame(first, duplicateResult.join().getBody());
+    }
+
+    @Test
+    void fetch_UnknownId_returnsNotFoundForThatCaller() {
+        // Given
+        CatalogBatcher catalogBatcher = batcher(true, LONG_WINDOW_MS, 2);
+        Artist first = new Artist();
+        when(apiClient.getValidAccessToken(anyString())).thenReturn("access_token");
+        when(apiClient.makeBatchedRequest(TEST_USER_ID, "/artists?ids=artist1,missing", SeveralArtistsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(
+                        ResponseEntity.ok(new SeveralArtistsResponse(new Artist[] { first, null }))));
+
+        // When
+        CompletableFuture<ResponseEntity<Artist>> firstResult = catalogBatcher.fetch(TEST_USER_ID, "/artists/artist1",
+                Artist.class);
+        CompletableFuture<ResponseEntity<Artist>> missingResult = catalogBatcher.fetch(TEST_USER_ID,
+                "/artists/missing", Artist.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, firstResult.join().getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, missingResult.join().getStatusCode());
+    }
+
+    @Test
+    void fetch_BatchRequestRejected_passesStatusToEveryCaller() {
+        // Given
+        CatalogBatcher catalogBatcher = batcher(true, LONG_WINDOW_MS, 2);
+        ResponseEntity<SeveralArtistsResponse> tooManyRequests = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .build();
+        when(apiClient.getValidAccessToken(anyString())).thenReturn("access_token");
+        when(apiClient.makeBatchedRequest(TEST_USER_ID, "/artists?ids=artist1,artist2", SeveralArtistsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(tooManyRequests));
+
+        // When
+        CompletableFuture<ResponseEntity<Artist>> firstResult = catalogBatcher.fetch(TEST_USER_ID, "/artists/artist1",
+                Artist.class);
+        CompletableFuture<ResponseEntity<Artist>> secondResult = catalogBatcher.fetch(TEST_USER_ID,
+                "/artists/artist2", Artist.class);
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, firstResult.join().getStatusCode());
+        assertEquals("30", firstResult.join().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, secondResult.join().getStatusCode());
+    }
+
+    @Test
+    void fetch_BatchSucceeds_keepsEachEntityUnderItsSingleIdEndpoint() {
+        // Given
+        CatalogBatcher catalogBatcher = batcher(true, LONG_WINDOW_MS, 2);
+        Artist first = new Artist();
+        Artist second = new Artist();
+        when(apiClient.getValidAccessToken(anyString())).thenReturn("access_token");
+        when(apiClient.makeBatchedRequest(TEST_USER_ID, "/artists?ids=artist1,artist2", SeveralArtistsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(
+                        ResponseEntity.ok(new SeveralArtistsResponse(new Artist[] { first, second }))));
+
+        // When
+        catalogBatcher.fetch(TEST_USER_ID, "/artists/artist1", Artist.class);
+        catalogBatcher.fetch(TEST_USER_ID, "/artists/artist2", Artist.class).join();
+
+        // Then
+        verify(apiClient).rememberForFallback("/artists/artist1", Artist.class, first);
+        verify(apiClient).rememberForFallback("/artists/artist2", Artist.class, second);
+    }
+
+    @Test
+    void fetch_BatchUnavailable_servesStoredEntityPerIdAndFailsTheRest() {
+        // Given
+        CatalogBatcher catalogBatcher = batcher(true, LONG_WINDOW_MS, 2);
+        Artist stored = new Artist();
+        ResponseEntity<SeveralArtistsResponse> unavailable = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .build();
+        when(apiClient.getValidAccessToken(anyString())).thenReturn("access_token");
+        when(apiClient.makeBatchedRequest(TEST_USER_ID, "/artists?ids=artist1,artist2", SeveralArtistsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(unavailable));
+        when(apiClient.staleResponse("/artists/artist1", Artist.class)).thenReturn(ResponseEntity.ok(stored));
+        when(apiClient.staleResponse("/artists/artist2", Artist.class)).thenReturn(null);
+
+        // When
+        CompletableFuture<ResponseEntity<Artist>> storedResult = catalogBatcher.fetch(TEST_USER_ID,
+                "/artists/artist1", Artist.class);
+        CompletableFuture<ResponseEntity<Artist>> missingResult = catalogBatcher.fetch(OTHER_USER_ID,
+                "/artists/artist2", Artist.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, storedResult.join().getStatusCode());
+        assertSame(stored, storedResult.join().getBody());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, missingResult.join().getStatusCode());
+        assertEquals("30", missingResult.join().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void fetch_BatchOwnerTokenInvalid_otherCallersRetryWithTheirOwnToken() {
+        // Given
+        CatalogBatcher catalogBatcher = batcher(true, LONG_WINDOW_MS, 2);
+        Artist second = new Artist();
+        ResponseEntity<SeveralArtistsResponse> unauthorized = ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        when(apiClient.getValidAccessToken(anyString())).thenReturn("access_token");
+        when(apiClient.makeBatchedRequest(TEST_USER_ID, "/artists?ids=artist1,artist2", SeveralArtistsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(unauthorized));
+        when(apiClient.makeBatchedRequest(OTHER_USER_ID, "/artists/artist2", Artist.class))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(second)));
+
+        // When
+        CompletableFuture<ResponseEntity<Artist>> ownerResult = catalogBatcher.fetch(TEST_USER_ID, "/artists/artist1",
+                Artist.class);
+        CompletableFuture<ResponseEntity<Artist>> otherResult = catalogBatcher.fetch(OTHER_USER_ID,
+                "/artists/artist2", Artist.class);
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, ownerResult.join().getStatusCode());
+        assertEquals(HttpStatus.OK, otherResult.join().getStatusCode());
+        assertSame(second, otherResult.join().getBody());
+    }
+
+    @Test
+    void fetch_UserOverConcurrencyLimit_failsFastWithoutBlockingOthers() {
+        // Given
+        when(rateLimitConfig.getPerUserMaxConcurrent()).thenReturn(1);
+        when(rateLimitConfig.getPerUserMaxTrackedUsers()).thenReturn(1_000L);
+        CatalogBatcher catalogBatcher = batcher(true, LONG_WINDOW_MS, 2);
+        Artist first = new Artist();
+        Artist second = new Artist();
+        when(apiClient.getValidAccessToken(anyString())).thenReturn("access_token");
+        when(apiClient.makeBatchedRequest(TEST_USER_ID, "/artists?ids=artist1,artist2", SeveralArtistsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(
+                        ResponseEntity.ok(new SeveralArtistsResponse(new Artist[] { first, second }))));
+
+        // When
+        CompletableFuture<ResponseEntity<Artist>> firstResult = catalogBatcher.fetch(TEST_USER_ID, "/artists/artist1",
+                Artist.class);
+        ResponseEntity<Artist> rejected = catalogBatcher.fetch(TEST_USER_ID, "/artists/artist3", Artist.class).join();
+        assertFalse(firstResult.isDone());
+        CompletableFuture<ResponseEntity<Artist>> otherResult = catalogBatcher.fetch(OTHER_USER_ID,
+                "/artists/artist2", Artist.class);
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatusCode());
+        assertEquals("1", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertSame(first, firstResult.join().getBody());
+        assertSame(second, otherResult.join().getBody());
+        assertFalse(catalogBatcher.fetch(TEST_USER_ID, "/artists/artist4", Artist.class).isDone());
+    }
+
+    @Test
+    void fetch_PartialBatch_flushesWhenWindowCloses() {
+        // Given
+        CatalogBatcher catalogBatcher = batcher(true, 10, 50);
+        Artist artist = new Artist();
+        when(apiClient.getValidAccessToken(TEST_USER_ID)).thenReturn("access_token");
+        when(apiClient.makeBatchedRequest(TEST_USER_ID, "/artists?ids=artist1", SeveralArtistsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(
+                        ResponseEntity.ok(new SeveralArtistsResponse(new Artist[] { artist }))));
+
+        // When
+        ResponseEntity<Artist> result = catalogBatcher.fetch(TEST_USER_ID, "/artists/artist1", Artist.class).join();
+
+        // Then
+        assertSame(artist, result.getBody());
+    }
+
+    @Test
+    void fetch_NonBatchableEndpoint_delegatesToSharedRequest() {
+        // Given
+        CatalogBatcher catalogBatcher = batcher(true, LONG_WINDOW_MS, 2);
+        String endpoint = "/artists/artist1/top-tracks";
+        ResponseEntity<ArtistTopTracksResponse> response = ResponseEntity.ok(new ArtistTopTracksResponse());
+        when(apiClient.makeSharedRequest(TEST_USER_ID, endpoint, ArtistTopTracksResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        // When
+        ResponseEntity<ArtistTopTracksResponse> result = catalogBatcher
+                .fetch(TEST_USER_ID, endpoint, ArtistTopTracksResponse.class).join();
+
+        // Then
+        assertSame(response, result);
+    }
+
+    @Test
+    void fetch_Disabled_delegatesToSharedRequest() {
+        // Given
+        CatalogBatcher catalogBatcher = batcher(false, LONG_WINDOW_MS, 2);
+        ResponseEntity<Artist> response = ResponseEntity.ok(new Artist());
+        when(apiClient.makeSharedRequest(TEST_USER_ID, "/artists/artist1", Artist.class))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        // When
+        ResponseEntity<Artist> result = catalogBatcher.fetch(TEST_USER_ID, "/artists/artist1", Artist.class).join();
+
+        // Then
+        assertSame(response, result);
+    }
+
+    private CatalogBatcher batcher(boolean enabled, long windowMs, int maxArtists) {
+        when(batchConfig.isEnabled()).thenReturn(enabled);
+        when(batchConfig.getWindowMs()).thenReturn(windowMs);
+        when(batchConfig.getMaxArtists()).thenReturn(maxArtists);
+        when(batchConfig.getMaxAlbums()).thenReturn(20);
+        when(batchConfig.getMaxTracks()).thenReturn(50);
+        return new CatalogBatcher(apiClient, new UserRequestLimiter(rateLimitConfig), batchConfig, Runnable::run);
+    }
+}
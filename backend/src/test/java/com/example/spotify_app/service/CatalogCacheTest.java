@@ -0,0 +1,144 @@
+package com.example.spotify_app.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.CatalogCacheConfig;
+import com.example.spotify_app.model.Artist.Artist;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogCacheTest {
+
+    @Mock
+    private SpotifyApiClient apiClient;
+
+    @Mock
+    private CatalogBatcher catalogBatcher;
+
+    @Mock
+    private CatalogCacheConfig cacheConfig;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private CatalogCache catalogCache;
+
+    private static final String TEST_USER_ID = "test-user-123";
+    private static final String OTHER_USER_ID = "other-user-456";
+    private static final String TEST_ENDPOINT = "/artists/test-artist-456";
+
+    @BeforeEach
+    void setUp() {
+        when(cacheConfig.getMaxEntries()).thenReturn(100L);
+        when(cacheConfig.getTtlSeconds()).thenReturn(60L);
+    }
+
+    @Test
+    void getOrFetch_RepeatedRequest_servesFromCacheAcrossUsers() {
+        // Given
+        catalogCache = cache(true);
+        Artist artist = new Artist();
+        when(apiClient.getValidAccessToken(TEST_USER_ID)).thenReturn("access_token");
+        when(apiClient.getValidAccessToken(OTHER_USER_ID)).thenReturn("other_access_token");
+        when(catalogBatcher.fetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(artist)));
+
+        // When
+        ResponseEntity<Artist> first = catalogCache.getOrFetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+        ResponseEntity<Artist> second = catalogCache.getOrFetch(OTHER_USER_ID, TEST_ENDPOINT, Artist.class).join();
+
+        // Then
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertSame(first.getBody(), second.getBody());
+        verify(catalogBatcher, times(1)).fetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class);
+    }
+
+    @Test
+    void getOrFetch_ErrorResponse_isNotCached() {
+        // Given
+        catalogCache = cache(true);
+        ResponseEntity<Artist> notFound = ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        when(apiClient.getValidAccessToken(TEST_USER_ID)).thenReturn("access_token");
+        when(catalogBatcher.fetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class))
+                .thenReturn(CompletableFuture.completedFuture(notFound));
+
+        // When
+        catalogCache.getOrFetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+        ResponseEntity<Artist> result = catalogCache.getOrFetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+        verify(catalogBatcher, times(2)).fetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class);
+    }
+
+    @Test
+    void getOrFetch_NoSession_bypassesCache() {
+        // Given
+        catalogCache = cache(true);
+        ResponseEntity<Artist> unauthorized = ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        when(apiClient.getValidAccessToken(TEST_USER_ID)).thenReturn("access_token");
+        when(apiClient.getValidAccessToken(OTHER_USER_ID)).thenReturn(null);
+        when(catalogBatcher.fetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(new Artist())));
+        when(catalogBatcher.fetch(OTHER_USER_ID, TEST_ENDPOINT, Artist.class))
+                .thenReturn(CompletableFuture.completedFuture(unauthorized));
+        catalogCache.getOrFetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+
+        // When
+        ResponseEntity<Artist> result = catalogCache.getOrFetch(OTHER_USER_ID, TEST_ENDPOINT, Artist.class).join();
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
+    }
+
+    @Test
+    void getOrFetch_EntryOlderThanTtl_refetches() {
+        // Given
+        catalogCache = cache(true);
+        when(apiClient.getValidAccessToken(TEST_USER_ID)).thenReturn("access_token");
+        when(catalogBatcher.fetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(new Artist())));
+        catalogCache.getOrFetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        // When
+        catalogCache.getOrFetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+
+        // Then
+        verify(catalogBatcher, times(2)).fetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class);
+    }
+
+    @Test
+    void getOrFetch_Disabled_alwaysFetches() {
+        // Given
+        catalogCache = cache(false);
+        when(catalogBatcher.fetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(new Artist())));
+
+        // When
+        catalogCache.getOrFetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+        catalogCache.getOrFetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class).join();
+
+        // Then
+        verify(catalogBatcher, times(2)).fetch(TEST_USER_ID, TEST_ENDPOINT, Artist.class);
+    }
+
+    private CatalogCache cache(boolean enabled) {
+        when(cacheConfig.isEnabled()).thenReturn(enabled);
+        return new CatalogCache(apiClient, catalogBatcher, cacheConfig, nanos::get);
+    }
+}
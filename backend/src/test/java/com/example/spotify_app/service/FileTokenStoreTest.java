@@ -0,0 +1,253 @@
+package com.example.spotify_app.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.TokenStoreConfig;
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+@ExtendWith(MockitoExtension.class)
+class FileTokenStoreTest {
+
+    @Mock
+    private TokenStoreConfig storeConfig;
+
+    @TempDir
+    private Path tempDir;
+
+    private Path logPath;
+
+    private FileTokenStore tokenStore;
+
+    private static final String USER_ID = "user123";
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @BeforeEach
+    void setUp() {
+        logPath = tempDir.resolve("tokens.jsonl");
+        when(storeConfig.getFilePath()).thenReturn(logPath.toString());
+        when(storeConfig.getFlushIntervalMs()).thenReturn(60_000L);
+        when(storeConfig.getCompactAfterRecords()).thenReturn(10_000L);
+        when(storeConfig.getIdleTtlSeconds()).thenReturn(604_800L);
+        when(storeConfig.getAbsoluteTtlSeconds()).thenReturn(2_592_000L);
+        when(storeConfig.getMaxEntries()).thenReturn(1_000L);
+        tokenStore = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenStore.close();
+    }
+
+    @Test
+    void saveToken_BeforeFlush_isReadableButNotYetWritten() throws IOException {
+        // When
+        tokenStore.saveToken(USER_ID, token("access_1"));
+
+        // Then
+        assertEquals("access_1", tokenStore.getToken(USER_ID).getAccessToken());
+        assertEquals("", Files.readString(logPath));
+    }
+
+    @Test
+    void saveToken_AfterFlush_survivesRestart() {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1"));
+        tokenStore.close();
+
+        // When
+        tokenStore = open();
+
+        // Then
+        SpotifyTokenResponse restored = tokenStore.getToken(USER_ID);
+        assertNotNull(restored);
+        assertEquals("access_1", restored.getAccessToken());
+        assertEquals("refresh_token", restored.getRefreshToken());
+        assertEquals(NOW.plusSeconds(3600), tokenStore.getExpiresAt(USER_ID));
+    }
+
+    @Test
+    void removeToken_AfterFlush_staysRemovedAfterRestart() {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1"));
+        tokenStore.flush();
+        tokenStore.removeToken(USER_ID);
+        tokenStore.close();
+
+        // When
+        tokenStore = open();
+
+        // Then
+        assertNull(tokenStore.getToken(USER_ID));
+    }
+
+    @Test
+    void open_LogWithSupersededRecords_compactsToOneRecordPerUser() throws IOException {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1"));
+        tokenStore.saveToken(USER_ID, token("access_2"));
+        tokenStore.saveToken(USER_ID, token("access_3"));
+        tokenStore.close();
+
+        // When
+        tokenStore = open();
+
+        // Then
+        assertEquals("access_3", tokenStore.getToken(USER_ID).getAccessToken());
+        assertEquals(1, Files.readAllLines(logPath).size());
+    }
+
+    @Test
+    void open_TornLastLine_skipsItAndKeepsEarlierRecords() throws IOException {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1"));
+        tokenStore.close();
+        Files.writeString(logPath, "{\"op\":\"put\",\"userId\":\"other", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        // When
+        tokenStore = open();
+
+        // Then
+        assertEquals("access_1", tokenStore.getToken(USER_ID).getAccessToken());
+        assertNull(tokenStore.getToken("other"));
+    }
+
+    @Test
+    void open_SessionIdleLongerThanIdleTtl_isNotRestored() {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1"));
+        tokenStore.close();
+        clock.advance(Duration.ofDays(8));
+
+        // When
+        tokenStore = open();
+
+        // Then
+        assertNull(tokenStore.getToken(USER_ID));
+    }
+
+    @Test
+    void open_RecentlyUsedSession_keepsIdleTimeFromLastUse() {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1"));
+        clock.advance(Duration.ofDays(3));
+        tokenStore.getToken(USER_ID);
+        tokenStore.close();
+        clock.advance(Duration.ofDays(5));
+
+        // When
+        tokenStore = open();
+
+        // Then
+        assertNotNull(tokenStore.peekToken(USER_ID));
+        clock.advance(Duration.ofDays(2));
+        assertNull(tokenStore.peekToken(USER_ID));
+    }
+
+    @Test
+    void open_ActiveSessionRestartedRepeatedly_stillEndsAtAbsoluteTtl() {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1"));
+        for (int i = 0; i < 4; i++) {
+            clock.advance(Duration.ofDays(6));
+            tokenStore.getToken(USER_ID);
+            tokenStore.saveToken(USER_ID, token("access_" + i));
+            tokenStore.close();
+            tokenStore = open();
+        }
+        tokenStore.close();
+        clock.advance(Duration.ofDays(6).plusHours(12));
+
+        // When
+        tokenStore = open();
+
+        // Then
+        assertNull(tokenStore.getToken(USER_ID));
+    }
+
+    @Test
+    void cleanUp_SessionExpiredInMemory_appendsRemoveRecord() throws IOException {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1"));
+        tokenStore.flush();
+        clock.advance(Duration.ofDays(8));
+
+        // When
+        tokenStore.cleanUp();
+        tokenStore.flush();
+
+        // Then
+        List<String> lines = Files.readAllLines(logPath);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).contains("\"op\":\"remove\""));
+        assertTrue(lines.get(1).contains(USER_ID));
+    }
+
+    private FileTokenStore open() {
+        return new FileTokenStore(storeConfig, new ObjectMapper(), clock, clock);
+    }
+
+    private SpotifyTokenResponse token(String accessToken) {
+        return new SpotifyTokenResponse(accessToken, "Bearer", "refresh_token", 3600, "user-top-read");
+    }
+
+    private static class MutableClock extends Clock implements Ticker {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public long read() {
+            return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package com.example.spotify_app.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+class InMemoryTokenStoreTest {
+
+    private InMemoryTokenStore tokenStore;
+
+    private static final String TOKEN_TYPE = "Bearer";
+    private static final String SCOPES = "user-read-private user-read-email";
+    private static final int EXPIRES_IN = 3600;
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Duration IDLE_TTL = Duration.ofDays(7);
+    private static final Duration ABSOLUTE_TTL = Duration.ofDays(30);
+    private static final long MAX_ENTRIES = 5;
+
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        tokenStore = new InMemoryTokenStore(IDLE_TTL, ABSOLUTE_TTL, MAX_ENTRIES, clock, clock);
+    }
+
+    // Tests for saveToken method
+
+    @Test
+    void saveToken_ValidUserIdAndToken_savesToken() {
+        // Given
+        String userId = "user123";
+        SpotifyTokenResponse tokenResponse = new SpotifyTokenResponse(
+                "access_token_123",
+                TOKEN_TYPE,
+                "refresh_token_123",
+                EXPIRES_IN,
+                SCOPES);
+
+        // When
+        tokenStore.saveToken(userId, tokenResponse);
+
+        // Then
+        SpotifyTokenResponse retrievedToken = tokenStore.getToken(userId);
+        assertNotNull(retrievedToken);
+        assertEquals(tokenResponse.getAccessToken(), retrievedToken.getAccessToken());
+        assertEquals(tokenResponse.getTokenType(), retrievedToken.getTokenType());
+        assertEquals(tokenResponse.getRefreshToken(), retrievedToken.getRefreshToken());
+        assertEquals(tokenResponse.getExpiresIn(), retrievedToken.getExpiresIn());
+        assertEquals(tokenResponse.getScope(), retrievedToken.getScope());
+    }
+
+    @Test
+    void saveToken_NullUserId_throwsNullPointerException() {
+        // Given
+        String userId = null;
+        SpotifyTokenResponse tokenResponse = new SpotifyTokenResponse(
+                "access_token_123",
+                TOKEN_TYPE,
+                "refresh_token_123",
+                EXPIRES_IN,
+                SCOPES);
+
+        // When & Then
+        assertThrows(NullPointerException.class, () -> {
+            tokenStore.saveToken(userId, tokenResponse);
+        });
+    }
+
+    @Test
+    void saveToken_NullToken_throwsNullPointerException() {
+        // Given
+        String userId = "user123";
+        SpotifyTokenResponse tokenResponse = null;
+
+        // When & Then
+        assertThrows(NullPointerException.class, () -> {
+            tokenStore.saveToken(userId, tokenResponse);
+        });
+    }
+
+    @Test
+    void saveToken_OverwriteExistingToken_replacesToken() {
+        // Given
+        String userId = "user123";
+        SpotifyTokenResponse firstToken = new SpotifyTokenResponse(
+                "first_access_token",
+                TOKEN_TYPE,
+                "first_refresh_token",
+                EXPIRES_IN,
+                SCOPES);
+        SpotifyTokenResponse secondToken = new SpotifyTokenResponse(
+                "second_access_token",
+                TOKEN_TYPE,
+                "second_refresh_token",
+                7200,
+                "user-read-private user-read-email");
+
+        // When
+        tokenStore.saveToken(userId, firstToken);
+        tokenStore.saveToken(userId, secondToken);
+
+        // Then
+        SpotifyTokenResponse retrievedToken = tokenStore.getToken(userId);
+        assertNotNull(retrievedToken);
+        assertEquals(secondToken.getAccessToken(), retrievedToken.getAccessToken());
+        assertEquals(secondToken.getRefreshToken(), retrievedToken.getRefreshToken());
+        assertEquals(secondToken.getExpiresIn(), retrievedToken.getExpiresIn());
+        assertNotEquals(firstToken.getAccessToken(), retrievedToken.getAccessToken());
+    }
+
+    // Tests for getToken method
+
+    @Test
+    void getToken_ExistingUserId_returnsToken() {
+        // Given
+        String userId = "user123";
+        SpotifyTokenResponse tokenResponse = new SpotifyTokenResponse(
+                "access_token_123",
+                TOKEN_TYPE,
+                "refresh_token_123",
+                EXPIRES_IN,
+                SCOPES);
+        tokenStore.saveToken(userId, tokenResponse);
+
+        // When
+        SpotifyTokenResponse result = tokenStore.getToken(userId);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(tokenResponse, result);
+    }
+
+    @Test
+    void getToken_NonExistentUserId_returnsNull() {
+        // Given
+        String userId = "nonexistent_user";
+
+        // When
+        SpotifyTokenResponse result = tokenStore.getToken(userId);
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void getToken_NullUserId_throwsNullPointerException() {
+        // Given
+        String userId = null;
+
+        // When & Then
+        assertThrows(NullPointerException.class, () -> {
+            tokenStore.getToken(userId);
+        });
+    }
+
+    @Test
+    void getToken_EmptyUserId_returnsNull() {
+        // Given
+        String userId = "";
+
+        // When
+        SpotifyTokenResponse result = tokenStore.getToken(userId);
+
+        // Then
+        assertNull(result);
+    }
+
+    // Tests for removeToken method
+
+    @Test
+    void removeToken_ExistingUserId_removesToken() {
+        // Given
+        String userId = "user123";
+        SpotifyTokenResponse tokenResponse = new SpotifyTokenResponse(
+                "access_token_123",
+                TOKEN_TYPE,
+                "refresh_token_123",
+                EXPIRES_IN,
+                SCOPES);
+        tokenStore.saveToken(userId, tokenResponse);
+
+        // When
+        tokenStore.removeToken(userId);
+
+        // Then
+        SpotifyTokenResponse retrievedToken = tokenStore.getToken(userId);
+        assertNull(retrievedToken);
+    }
+
+    @Test
+    void removeToken_NonExistentUserId_noEffect() {
+        // Given
+        String existingUserId = "user123";
+        String nonExistentUserId = "nonexistent_user";
+        SpotifyTokenResponse tokenResponse = new SpotifyTokenResponse(
+                "access_token_123",
+                TOKEN_TYPE,
+                "refresh_token_123",
+                EXPIRES_IN,
+                SCOPES);
+        tokenStore.saveToken(existingUserId, tokenResponse);
+
+        // When
+        tokenStore.removeToken(nonExistentUserId);
+
+        // Then
+        SpotifyTokenResponse existingToken = tokenStore.getToken(existingUserId);
+        assertNotNull(existingToken);
+        assertEquals(tokenResponse, existingToken);
+    }
+
+    @Test
+    void removeToken_NullUserId_throwsNullPointerException() {
+        // Given
+        String existingUserId = "user123";
+        SpotifyTokenResponse tokenResponse = new SpotifyTokenResponse(
+                "access_token_123",
+                TOKEN_TYPE,
+                "refresh_token_123",
+                EXPIRES_IN,
+                SCOPES);
+        tokenStore.saveToken(existingUserId, tokenResponse);
+
+        // When & Then
+        assertThrows(NullPointerException.class, () -> {
+            tokenStore.removeToken(null);
+        });
+
+        // Verify existing token is still there
+        SpotifyTokenResponse existingToken = tokenStore.getToken(existingUserId);
+        assertNotNull(existingToken);
+        assertEquals(tokenResponse, existingToken);
+    }
+
+    // Tests for expiry tracking
+
+    @Test
+    void getExpiresAt_SavedToken_returnsAbsoluteExpiry() {
+        // Given
+        String userId = "user123";
+        tokenStore.saveToken(userId, tokenExpiringIn(EXPIRES_IN));
+
+        // When
+        Instant expiresAt = tokenStore.getExpiresAt(userId);
+
+        // Then
+        assertEquals(NOW.plusSeconds(EXPIRES_IN), expiresAt);
+    }
+
+    @Test
+    void getExpiresAt_NoExpiresIn_neverExpires() {
+        // Given
+        String userId = "user123";
+        tokenStore.saveToken(userId, tokenExpiringIn(0));
+
+        // When
+        Instant expiresAt = tokenStore.getExpiresAt(userId);
+
+        // Then
+        assertEquals(Instant.MAX, expiresAt);
+        assertFalse(tokenStore.isExpired(userId));
+    }
+
+    @Test
+    void isExpired_BeforeAndAfterExpiry_reflectsClock() {
+        // Given
+        String userId = "user123";
+        tokenStore.saveToken(userId, tokenExpiringIn(EXPIRES_IN));
+
+        // When & Then
+        assertFalse(tokenStore.isExpired(userId));
+        clock.advanceSeconds(EXPIRES_IN);
+        assertTrue(tokenStore.isExpired(userId));
+    }
+
+    @Test
+    void isExpired_UnknownUser_returnsFalse() {
+        // When & Then
+        assertFalse(tokenStore.isExpired("nonexistent_user"));
+    }
+
+    @Test
+    void findUserIdsExpiringBefore_MixedExpiries_returnsSoonestFirstExcludingExpired() {
+        // Given
+        tokenStore.saveToken("late", tokenExpiringIn(600));
+        tokenStore.saveToken("soon", tokenExpiringIn(60));
+        tokenStore.saveToken("outside_window", tokenExpiringIn(EXPIRES_IN));
+        tokenStore.saveToken("already_expired", tokenExpiringIn(1));
+        clock.advanceSeconds(5);
+
+        // When
+        List<String> result = tokenStore.findUserIdsExpiringBefore(NOW.plusSeconds(900));
+
+        // Then
+        assertEquals(List.of("soon", "late"), result);
+    }
+
+    // Tests for session eviction
+
+    @Test
+    void getToken_IdleLongerThanIdleTtl_evictsSession() {
+        // Given
+        tokenStore.saveToken("user123", tokenExpiringIn(EXPIRES_IN));
+        clock.advanceSeconds(IDLE_TTL.toSeconds() + 1);
+
+        // When
+        SpotifyTokenResponse result = tokenStore.getToken("user123");
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void getToken_ActiveSession_extendsIdleTimeout() {
+        // Given
+        tokenStore.saveToken("user123", tokenExpiringIn(EXPIRES_IN));
+        clock.advanceSeconds(IDLE_TTL.toSeconds() - 60);
+        tokenStore.getToken("user123");
+        clock.advanceSeconds(IDLE_TTL.toSeconds() - 60);
+
+        // When
+        SpotifyTokenResponse result = tokenStore.getToken("user123");
+
+        // Then
+        assertNotNull(result);
+    }
+
+    @Test
+    void peekToken_BackgroundReadsAndRefreshes_doNotExtendIdleTimeout() {
+        // Given
+        tokenStore.saveToken("user123", tokenExpiringIn(EXPIRES_IN));
+        clock.advanceSeconds(IDLE_TTL.toSeconds() - 60);
+        assertNotNull(tokenStore.peekToken("user123"));
+        tokenStore.saveToken("user123", tokenExpiringIn(EXPIRES_IN));
+        clock.advanceSeconds(120);
+
+        // When
+        SpotifyTokenResponse result = tokenStore.peekToken("user123");
+
+        // Then
+        assertNull(result);
+        assertNull(tokenStore.getExpiresAt("user123"));
+    }
+
+    @Test
+    void getToken_ActiveSessionPastAbsoluteTtl_evictsSession() {
+        // Given
+        tokenStore.saveToken("user123", tokenExpiringIn(EXPIRES_IN));
+        for (long elapsed = 0; elapsed < ABSOLUTE_TTL.toSeconds(); elapsed += Duration.ofDays(5).toSeconds()) {
+            assertNotNull(tokenStore.getToken("user123"));
+            clock.advanceSeconds(Duration.ofDays(5).toSeconds());
+        }
+
+        // When
+        SpotifyTokenResponse result = tokenStore.getToken("user123");
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void saveToken_MoreSessionsThanMaxEntries_evictsDownToLimit() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            tokenStore.saveToken("user" + i, tokenExpiringIn(EXPIRES_IN));
+        }
+
+        // When
+        tokenStore.cleanUp();
+
+        // Then
+        assertEquals(MAX_ENTRIES, tokenStore.getUserIds().size());
+    }
+
+    @Test
+    void getEstimatedBytes_ReplacedAndRemovedSessions_tracksOnlyLiveSessions() {
+        // Given
+        tokenStore.saveToken("user1", tokenExpiringIn(EXPIRES_IN));
+        long oneSession = tokenStore.getEstimatedBytes();
+
+        // When
+        tokenStore.saveToken("user1", new SpotifyTokenResponse("a_longer_access_token_123", TOKEN_TYPE,
+                "refresh_token_123", EXPIRES_IN, SCOPES));
+        long afterReplace = tokenStore.getEstimatedBytes();
+        tokenStore.removeToken("user1");
+
+        // Then
+        assertTrue(oneSession > 0);
+        assertEquals(oneSession + "a_longer_".length(), afterReplace);
+        assertEquals(0, tokenStore.getEstimatedBytes());
+    }
+
+    @Test
+    void getEstimatedBytes_EvictedSessions_areSubtracted() {
+        // Given
+        tokenStore.saveToken("user0", tokenExpiringIn(EXPIRES_IN));
+        long oneSession = tokenStore.getEstimatedBytes();
+        for (int i = 1; i < MAX_ENTRIES + 3; i++) {
+            tokenStore.saveToken("user" + i, tokenExpiringIn(EXPIRES_IN));
+        }
+
+        // When
+        tokenStore.cleanUp();
+        long afterSizeEviction = tokenStore.getEstimatedBytes();
+        clock.advanceSeconds(IDLE_TTL.toSeconds() + 1);
+        tokenStore.cleanUp();
+
+        // Then
+        assertEquals(MAX_ENTRIES * oneSession, afterSizeEviction);
+        assertEquals(0, tokenStore.getEstimatedBytes());
+    }
+
+    private SpotifyTokenResponse tokenExpiringIn(int expiresIn) {
+        return new SpotifyTokenResponse("access_token_123", TOKEN_TYPE, "refresh_token_123", expiresIn, SCOPES);
+    }
+
+    // Drives both wall-clock expiry and the cache's session timers
+    private static class MutableClock extends Clock implements Ticker {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public long read() {
+            return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        }
+    }
+}
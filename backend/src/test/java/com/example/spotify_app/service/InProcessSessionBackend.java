@@ -0,0 +1,122 @@
+package com.example.spotify_app.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Stands in for Redis in tests: one instance is shared by several SharedTokenStore "nodes"
+class InProcessSessionBackend implements SharedSessionBackend {
+
+    private final Clock clock;
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final Map<String, RefreshLock> refreshLocks = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private boolean deliverMessages = true;
+
+    InProcessSessionBackend(Clock clock) {
+        this.clock = clock;
+    }
+
+    // Simulates a dropped pub/sub connection
+    void setDeliverMessages(boolean deliverMessages) {
+        this.deliverMessages = deliverMessages;
+    }
+
+    @Override
+    public String read(String userId, Duration ttl) {
+        Entry entry = live(userId);
+        if (entry == null) {
+            return null;
+        }
+        sessions.put(userId, new Entry(entry.value(), entry.tokenExpiresAt(), clock.instant().plus(ttl)));
+        return entry.value();
+    }
+
+    @Override
+    public String peek(String userId) {
+        Entry entry = live(userId);
+        return entry != null ? entry.value() : null;
+    }
+
+    @Override
+    public Duration timeToLive(String userId) {
+        Entry entry = live(userId);
+        return entry != null ? Duration.between(clock.instant(), entry.keyExpiresAt()) : null;
+    }
+
+    @Override
+    public void create(String userId, String session, Instant tokenExpiresAt, Duration ttl) {
+        sessions.put(userId, new Entry(session, tokenExpiresAt, clock.instant().plus(ttl)));
+    }
+
+    @Override
+    public boolean update(String userId, String session, Instant tokenExpiresAt) {
+        Entry entry = live(userId);
+        if (entry == null) {
+            return false;
+        }
+        sessions.put(userId, new Entry(session, tokenExpiresAt, entry.keyExpiresAt()));
+        return true;
+    }
+
+    @Override
+    public void delete(String userId) {
+        sessions.remove(userId);
+    }
+
+    @Override
+    public List<String> findUserIdsExpiringBetween(Instant from, Instant to) {
+        return sessions.entrySet().stream()
+                .filter(e -> live(e.getKey()) != null)
+                .filter(e -> e.getValue().tokenExpiresAt().isAfter(from) && e.getValue().tokenExpiresAt().isBefore(to))
+                .sorted(Comparator.comparing(e -> e.getValue().tokenExpiresAt()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @Override
+    public boolean acquireRefreshLock(String userId, String owner, Duration ttl) {
+        Instant now = clock.instant();
+        RefreshLock acquired = new RefreshLock(owner, now.plus(ttl));
+        return refreshLocks.compute(userId, (key, current) ->
+                current == null || !now.isBefore(current.expiresAt()) ? acquired : current) == acquired;
+    }
+
+    @Override
+    public void releaseRefreshLock(String userId, String owner) {
+        refreshLocks.computeIfPresent(userId, (key, current) -> current.owner().equals(owner) ? null : current);
+    }
+
+    @Override
+    public void publish(String message) {
+        if (deliverMessages) {
+            listeners.forEach(listener -> listener.accept(message));
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    private Entry live(String userId) {
+        Entry entry = sessions.get(userId);
+        if (entry != null && !clock.instant().isBefore(entry.keyExpiresAt())) {
+            sessions.remove(userId, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private record Entry(String value, Instant tokenExpiresAt, Instant keyExpiresAt) {
+    }
+
+    private record RefreshLock(String owner, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,324 @@
+package com.example.spotify_app.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.spotify_app.model.SpotifyTokenResponse;
+import com.example.spotify_app.util.UserIdGenerator;
+
+class OffHeapTokenStoreTest {
+
+    private OffHeapTokenStore tokenStore;
+
+    private MutableClock clock;
+
+    private static final String USER_ID = "3f2b8c1e-9a4d-4e7b-8c6a-1d2e3f4a5b6c";
+    private static final String SCOPES = "user-top-read user-read-email";
+    private static final int EXPIRES_IN = 3600;
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Duration IDLE_TTL = Duration.ofDays(7);
+    private static final Duration ABSOLUTE_TTL = Duration.ofDays(30);
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        tokenStore = new OffHeapTokenStore(IDLE_TTL, ABSOLUTE_TTL, 100_000, clock, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenStore.close();
+    }
+
+    @Test
+    void saveToken_ValidSession_roundTripsAllFields() {
+        // Given
+        SpotifyTokenResponse token = new SpotifyTokenResponse("access_token_123", "Bearer", "refresh_token_123",
+                EXPIRES_IN, SCOPES);
+
+        // When
+        tokenStore.saveToken(USER_ID, token);
+
+        // Then
+        SpotifyTokenResponse result = tokenStore.getToken(USER_ID);
+        assertEquals(token, result);
+        assertEquals(NOW.plusSeconds(EXPIRES_IN), tokenStore.getExpiresAt(USER_ID));
+    }
+
+    @Test
+    void saveToken_NullRefreshTokenAndScope_roundTripsNulls() {
+        // Given
+        SpotifyTokenResponse token = new SpotifyTokenResponse("access_token_123", "Bearer", null, EXPIRES_IN, null);
+
+        // When
+        tokenStore.saveToken(USER_ID, token);
+
+        // Then
+        SpotifyTokenResponse result = tokenStore.getToken(USER_ID);
+        assertNull(result.getRefreshToken());
+        assertNull(result.getScope());
+    }
+
+    @Test
+    void getToken_ManySessions_internsScopeAndTokenType() {
+        // Given
+        String otherUserId = UserIdGenerator.generateUserId();
+        tokenStore.saveToken(USER_ID, token("access_1", EXPIRES_IN));
+        tokenStore.saveToken(otherUserId, token("access_2", EXPIRES_IN));
+
+        // When
+        SpotifyTokenResponse first = tokenStore.getToken(USER_ID);
+        SpotifyTokenResponse second = tokenStore.getToken(otherUserId);
+
+        // Then
+        assertSame(first.getScope(), second.getScope());
+        assertSame(first.getTokenType(), second.getTokenType());
+    }
+
+    @Test
+    void saveToken_OverwritesAndRemovesAcrossResizes_keepsLatestTokens() {
+        // Given
+        Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            String userId = UserIdGenerator.generateUserId();
+            tokenStore.saveToken(userId, token("access_" + i, EXPIRES_IN));
+            expected.put(userId, "access_" + i);
+        }
+
+        // When
+        int i = 0;
+        for (String userId : List.copyOf(expected.keySet())) {
+            if (i++ % 3 == 0) {
+                tokenStore.removeToken(userId);
+                expected.remove(userId);
+            } else {
+                tokenStore.saveToken(userId, token("rotated_" + userId, EXPIRES_IN));
+                expected.put(userId, "rotated_" + userId);
+            }
+        }
+        tokenStore.sweep();
+
+        // Then
+        assertEquals(expected.size(), tokenStore.size());
+        expected.forEach((userId, accessToken) ->
+                assertEquals(accessToken, tokenStore.peekToken(userId).getAccessToken()));
+    }
+
+    @Test
+    void saveToken_NotASessionId_throwsIllegalArgumentException() {
+        // Given
+        SpotifyTokenResponse token = token("access_1", EXPIRES_IN);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> tokenStore.saveToken("user123", token));
+        assertThrows(IllegalArgumentException.class, () -> tokenStore.saveToken(USER_ID.toUpperCase(), token));
+    }
+
+    @Test
+    void getToken_NotASessionId_returnsNull() {
+        // When
+        SpotifyTokenResponse result = tokenStore.getToken("user123");
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void getToken_NullUserId_throwsNullPointerException() {
+        // When & Then
+        assertThrows(NullPointerException.class, () -> tokenStore.getToken(null));
+    }
+
+    @Test
+    void getLastAccessAt_ReadAfterSave_returnsTimeOfRead() {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1", EXPIRES_IN));
+        clock.advanceSeconds(3600);
+        tokenStore.getToken(USER_ID);
+        clock.advanceSeconds(600);
+
+        // When
+        tokenStore.peekToken(USER_ID);
+        Instant result = tokenStore.getLastAccessAt(USER_ID);
+
+        // Then
+        assertEquals(NOW.plusSeconds(3600), result);
+    }
+
+    @Test
+    void removeToken_ExistingSession_removesToken() {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1", EXPIRES_IN));
+
+        // When
+        tokenStore.removeToken(USER_ID);
+
+        // Then
+        assertNull(tokenStore.getToken(USER_ID));
+        assertEquals(0, tokenStore.size());
+    }
+
+    @Test
+    void getExpiresAt_NoExpiresIn_neverExpires() {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1", 0));
+
+        // When
+        Instant result = tokenStore.getExpiresAt(USER_ID);
+
+        // Then
+        assertEquals(Instant.MAX, result);
+        assertFalse(tokenStore.isExpired(USER_ID));
+    }
+
+    @Test
+    void isExpired_BeforeAndAfterExpiry_reflectsClock() {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1", 60));
+
+        // When
+        boolean beforeExpiry = tokenStore.isExpired(USER_ID);
+        clock.advanceSeconds(60);
+        boolean afterExpiry = tokenStore.isExpired(USER_ID);
+
+        // Then
+        assertFalse(beforeExpiry);
+        assertTrue(afterExpiry);
+    }
+
+    @Test
+    void getToken_IdleLongerThanIdleTtl_evictsSession() {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1", EXPIRES_IN));
+        clock.advanceSeconds(IDLE_TTL.toSeconds() - 60);
+        assertNotNull(tokenStore.getToken(USER_ID));
+        clock.advanceSeconds(IDLE_TTL.toSeconds() - 60);
+        assertNotNull(tokenStore.peekToken(USER_ID));
+        tokenStore.saveToken(USER_ID, token("access_2", EXPIRES_IN));
+
+        // When
+        clock.advanceSeconds(120);
+
+        // Then
+        assertNull(tokenStore.getToken(USER_ID));
+    }
+
+    @Test
+    void getToken_ActiveSessionPastAbsoluteTtl_evictsSession() {
+        // Given
+        tokenStore.saveToken(USER_ID, token("access_1", EXPIRES_IN));
+        for (long elapsed = 0; elapsed < ABSOLUTE_TTL.toSeconds(); elapsed += Duration.ofDays(5).toSeconds()) {
+            assertNotNull(tokenStore.getToken(USER_ID));
+            clock.advanceSeconds(Duration.ofDays(5).toSeconds());
+        }
+
+        // When
+        SpotifyTokenResponse result = tokenStore.getToken(USER_ID);
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void sweep_ExpiredSessions_releasesThem() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            tokenStore.saveToken(UserIdGenerator.generateUserId(), token("access_" + i, EXPIRES_IN));
+        }
+        clock.advanceSeconds(IDLE_TTL.toSeconds());
+
+        // When
+        tokenStore.sweep();
+
+        // Then
+        assertEquals(0, tokenStore.size());
+    }
+
+    @Test
+    void saveToken_MoreSessionsThanMaxEntries_staysWithinLimit() {
+        // Given
+        tokenStore.close();
+        tokenStore = new OffHeapTokenStore(IDLE_TTL, ABSOLUTE_TTL, 640, clock, clock);
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            tokenStore.saveToken(UserIdGenerator.generateUserId(), token("access_" + i, EXPIRES_IN));
+        }
+
+        // Then
+        assertTrue(tokenStore.size() <= 640);
+    }
+
+    @Test
+    void findUserIdsExpiringBefore_MixedExpiries_returnsSoonestFirst() {
+        // Given
+        String soon = UUID.randomUUID().toString();
+        String late = UUID.randomUUID().toString();
+        tokenStore.saveToken(late, token("access_late", 600));
+        tokenStore.saveToken(soon, token("access_soon", 120));
+        tokenStore.saveToken(USER_ID, token("access_outside", EXPIRES_IN));
+
+        // When
+        List<String> result = tokenStore.findUserIdsExpiringBefore(NOW.plusSeconds(900));
+
+        // Then
+        assertEquals(List.of(soon, late), result);
+    }
+
+    private SpotifyTokenResponse token(String accessToken, int expiresIn) {
+        return new SpotifyTokenResponse(accessToken, "Bearer", "refresh_token", expiresIn, SCOPES);
+    }
+
+    // Drives both wall-clock expiry and the session timers
+    private static class MutableClock extends Clock implements Ticker {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public long read() {
+            return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.spotify_app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.RateLimitConfig;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitGovernorTest {
+
+    @Mock
+    private RateLimitConfig rateLimitConfig;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @Test
+    void admit_WithinBurst_grantsImmediately() {
+        // Given
+        RateLimitGovernor governor = governor(10, 2, 30, 100);
+
+        // When
+        RateLimitGovernor.Admission first = governor.admit(DIRECT);
+        RateLimitGovernor.Admission second = governor.admit(DIRECT);
+
+        // Then
+        assertTrue(first.granted());
+        assertTrue(second.granted());
+        assertEquals(0, second.delayMillis());
+        assertSame(DIRECT, second.executor());
+        assertEquals(0, governor.getQueueDepth());
+    }
+
+    @Test
+    void admit_BurstExhausted_queuesUntilNextPermit() {
+        // Given
+        RateLimitGovernor governor = governor(10, 1, 30, 100);
+        governor.admit(DIRECT);
+        governor.admit(DIRECT);
+
+        // When
+        RateLimitGovernor.Admission result = governor.admit(DIRECT);
+
+        // Then
+        assertTrue(result.granted());
+        assertEquals(100, result.delayMillis());
+        assertNotSame(DIRECT, result.executor());
+        assertEquals(1, governor.getQueueDepth());
+    }
+
+    @Test
+    void admit_AfterIdlePeriod_refillsPermits() {
+        // Given
+        RateLimitGovernor governor = governor(10, 1, 30, 100);
+        governor.admit(DIRECT);
+        clock.advanceMillis(500);
+
+        // When
+        RateLimitGovernor.Admission result = governor.admit(DIRECT);
+
+        // Then
+        assertTrue(result.granted());
+        assertEquals(0, result.delayMillis());
+    }
+
+    @Test
+    void admit_InsideRetryAfterWindow_delaysUntilWindowCloses() {
+        // Given
+        RateLimitGovernor governor = governor(10, 5, 30, 100);
+        governor.blockFor(5);
+
+        // When
+        RateLimitGovernor.Admission result = governor.admit(DIRECT);
+
+        // Then
+        assertTrue(result.granted());
+        assertEquals(5000, result.delayMillis());
+        assertEquals(5000, governor.getBlockedRemainingMillis());
+    }
+
+    @Test
+    void admit_WindowLongerThanMaxQueueWait_failsFast() {
+        // Given
+        RateLimitGovernor governor = governor(10, 5, 30, 100);
+        governor.blockFor(45);
+
+        // When
+        RateLimitGovernor.Admission result = governor.admit(DIRECT);
+
+        // Then
+        assertFalse(result.granted());
+        assertEquals(45, result.retryAfterSeconds());
+        assertEquals(0, governor.getQueueDepth());
+    }
+
+    @Test
+    void admit_QueueFull_shedsRequest() {
+        // Given
+        RateLimitGovernor governor = governor(10, 5, 30, 1);
+        governor.blockFor(5);
+        governor.admit(DIRECT);
+
+        // When
+        RateLimitGovernor.Admission result = governor.admit(DIRECT);
+
+        // Then
+        assertFalse(result.granted());
+        assertEquals(1, governor.getQueueDepth());
+    }
+
+    @Test
+    void blockFor_ShorterWindow_keepsLongerWindow() {
+        // Given
+        RateLimitGovernor governor = governor(10, 5, 30, 100);
+        governor.blockFor(20);
+
+        // When
+        governor.blockFor(5);
+
+        // Then
+        assertEquals(20000, governor.getBlockedRemainingMillis());
+    }
+
+    @Test
+    void blockFor_WindowElapsed_releasesRequestsAtConfiguredRate() {
+        // Given
+        RateLimitGovernor governor = governor(10, 5, 30, 100);
+        governor.blockFor(2);
+        clock.advanceMillis(2000);
+
+        // When
+        RateLimitGovernor.Admission first = governor.admit(DIRECT);
+        RateLimitGovernor.Admission second = governor.admit(DIRECT);
+
+        // Then
+        assertEquals(0, governor.getBlockedRemainingMillis());
+        assertEquals(0, first.delayMillis());
+        assertEquals(100, second.delayMillis());
+    }
+
+    private RateLimitGovernor governor(double permitsPerSecond, int burst, long maxQueueWaitSeconds,
+            int maxQueueDepth) {
+        when(rateLimitConfig.getPermitsPerSecond()).thenReturn(permitsPerSecond);
+        when(rateLimitConfig.getBurst()).thenReturn(burst);
+        when(rateLimitConfig.getMaxQueueWaitSeconds()).thenReturn(maxQueueWaitSeconds);
+        when(rateLimitConfig.getMaxQueueDepth()).thenReturn(maxQueueDepth);
+        return new RateLimitGovernor(rateLimitConfig, clock);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceMillis(long millis) {
+            instant = instant.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
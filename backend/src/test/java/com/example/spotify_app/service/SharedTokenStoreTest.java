@@ -0,0 +1,281 @@
+package com.example.spotify_app.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.TokenStoreConfig;
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+@ExtendWith(MockitoExtension.class)
+class SharedTokenStoreTest {
+
+    @Mock
+    private TokenStoreConfig storeConfig;
+
+    @Mock
+    private SpotifyOAuthService oauthServiceA;
+
+    @Mock
+    private SpotifyOAuthService oauthServiceB;
+
+    private MutableClock clock;
+
+    private InProcessSessionBackend backend;
+
+    private SharedTokenStore nodeA;
+
+    private SharedTokenStore nodeB;
+
+    private static final String USER_ID = "user123";
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Duration IDLE_TTL = Duration.ofDays(7);
+    private static final Duration ABSOLUTE_TTL = Duration.ofDays(30);
+    private static final long NEAR_CACHE_TTL_SECONDS = 30;
+    private static final long REFRESH_LOCK_SECONDS = 10;
+
+    @BeforeEach
+    void setUp() {
+        when(storeConfig.getIdleTtlSeconds()).thenReturn(IDLE_TTL.toSeconds());
+        when(storeConfig.getAbsoluteTtlSeconds()).thenReturn(ABSOLUTE_TTL.toSeconds());
+        when(storeConfig.getSharedNearCacheTtlSeconds()).thenReturn(NEAR_CACHE_TTL_SECONDS);
+        when(storeConfig.getSharedNearCacheMaxEntries()).thenReturn(1_000L);
+        when(storeConfig.getSharedRefreshLockSeconds()).thenReturn(REFRESH_LOCK_SECONDS);
+
+        clock = new MutableClock(NOW);
+        backend = new InProcessSessionBackend(clock);
+        nodeA = new SharedTokenStore(backend, storeConfig, new ObjectMapper(), clock, clock);
+        nodeB = new SharedTokenStore(backend, storeConfig, new ObjectMapper(), clock, clock);
+    }
+
+    @Test
+    void getToken_SavedOnAnotherNode_returnsToken() {
+        // Given
+        nodeA.saveToken(USER_ID, token("access_1", 3600));
+
+        // When
+        SpotifyTokenResponse result = nodeB.getToken(USER_ID);
+
+        // Then
+        assertEquals("access_1", result.getAccessToken());
+        assertEquals(NOW.plusSeconds(3600), nodeB.getExpiresAt(USER_ID));
+    }
+
+    @Test
+    void saveToken_RefreshOnAnotherNode_invalidatesNearCache() {
+        // Given
+        nodeA.saveToken(USER_ID, token("access_1", 3600));
+        assertEquals("access_1", nodeB.getToken(USER_ID).getAccessToken());
+
+        // When
+        nodeA.saveToken(USER_ID, token("access_2", 3600));
+
+        // Then
+        assertEquals("access_2", nodeB.getToken(USER_ID).getAccessToken());
+        assertEquals("access_2", nodeB.peekToken(USER_ID).getAccessToken());
+    }
+
+    @Test
+    void removeToken_OnAnotherNode_logsOutEverywhere() {
+        // Given
+        nodeA.saveToken(USER_ID, token("access_1", 3600));
+        nodeB.getToken(USER_ID);
+
+        // When
+        nodeA.removeToken(USER_ID);
+
+        // Then
+        assertNull(nodeB.getToken(USER_ID));
+        assertNull(nodeB.getExpiresAt(USER_ID));
+    }
+
+    @Test
+    void getToken_InvalidationLost_servesFreshTokenAfterNearCacheTtl() {
+        // Given
+        nodeA.saveToken(USER_ID, token("access_1", 3600));
+        nodeB.getToken(USER_ID);
+        backend.setDeliverMessages(false);
+        nodeA.saveToken(USER_ID, token("access_2", 3600));
+
+        // When
+        String beforeTtl = nodeB.getToken(USER_ID).getAccessToken();
+        clock.advanceSeconds(NEAR_CACHE_TTL_SECONDS);
+        String afterTtl = nodeB.getToken(USER_ID).getAccessToken();
+
+        // Then
+        assertEquals("access_1", beforeTtl);
+        assertEquals("access_2", afterTtl);
+        assertEquals("access_2", nodeB.peekToken(USER_ID).getAccessToken());
+    }
+
+    @Test
+    void getToken_SessionOlderThanAbsoluteTtl_returnsNull() {
+        // Given
+        nodeA.saveToken(USER_ID, token("access_1", 3600));
+        for (long elapsed = 0; elapsed < ABSOLUTE_TTL.toSeconds(); elapsed += Duration.ofDays(5).toSeconds()) {
+            nodeA.saveToken(USER_ID, nodeB.getToken(USER_ID));
+            clock.advanceSeconds(Duration.ofDays(5).toSeconds());
+        }
+
+        // When
+        SpotifyTokenResponse result = nodeB.getToken(USER_ID);
+
+        // Then
+        assertNull(result);
+        assertNull(nodeA.peekToken(USER_ID));
+    }
+
+    @Test
+    void isExpired_BeforeAndAfterTokenExpiry_reflectsClock() {
+        // Given
+        nodeA.saveToken(USER_ID, token("access_1", 60));
+
+        // When
+        boolean beforeExpiry = nodeB.isExpired(USER_ID);
+        clock.advanceSeconds(60);
+        boolean afterExpiry = nodeB.isExpired(USER_ID);
+
+        // Then
+        assertFalse(beforeExpiry);
+        assertTrue(afterExpiry);
+    }
+
+    @Test
+    void findUserIdsExpiringBefore_SessionsFromAllNodes_returnsSoonestFirst() {
+        // Given
+        nodeA.saveToken("late", token("access_late", 600));
+        nodeB.saveToken("soon", token("access_soon", 120));
+        nodeA.saveToken("outside_window", token("access_outside", 3600));
+
+        // When
+        List<String> result = nodeB.findUserIdsExpiringBefore(NOW.plusSeconds(900));
+
+        // Then
+        assertEquals(List.of("soon", "late"), result);
+    }
+
+    @Test
+    void getLastAccessAt_ReadOnAnotherNode_returnsTimeOfRead() {
+        // Given
+        nodeA.saveToken(USER_ID, token("access_1", 3600));
+        clock.advanceSeconds(3600);
+        nodeB.getToken(USER_ID);
+        clock.advanceSeconds(600);
+
+        // When
+        Instant result = nodeA.getLastAccessAt(USER_ID);
+
+        // Then
+        assertEquals(NOW.plusSeconds(3600), result);
+    }
+
+    @Test
+    void tryLockRefresh_HeldByAnotherNode_failsUntilReleased() {
+        // Given
+        assertTrue(nodeA.tryLockRefresh(USER_ID));
+
+        // When
+        boolean whileHeld = nodeB.tryLockRefresh(USER_ID);
+        nodeA.unlockRefresh(USER_ID);
+        boolean afterRelease = nodeB.tryLockRefresh(USER_ID);
+
+        // Then
+        assertFalse(whileHeld);
+        assertTrue(afterRelease);
+    }
+
+    @Test
+    void tryLockRefresh_HolderNeverReleases_lockLapsesAndLateReleaseIsIgnored() {
+        // Given
+        assertTrue(nodeA.tryLockRefresh(USER_ID));
+        clock.advanceSeconds(REFRESH_LOCK_SECONDS);
+
+        // When
+        boolean acquired = nodeB.tryLockRefresh(USER_ID);
+        nodeA.unlockRefresh(USER_ID);
+
+        // Then
+        assertTrue(acquired);
+        assertFalse(nodeA.tryLockRefresh(USER_ID));
+    }
+
+    @Test
+    void refresh_AnotherNodeIsRefreshing_waitsForItsTokenInsteadOfRefreshing() throws Exception {
+        // Given
+        nodeA.saveToken(USER_ID, token("access_1", 3600));
+        CompletableFuture<Boolean> spotifyCall = new CompletableFuture<>();
+        when(oauthServiceA.refreshToken(USER_ID)).thenReturn(spotifyCall);
+        TokenRefreshCoordinator coordinatorA = new TokenRefreshCoordinator(nodeA, oauthServiceA);
+        TokenRefreshCoordinator coordinatorB = new TokenRefreshCoordinator(nodeB, oauthServiceB);
+
+        // When
+        CompletableFuture<Boolean> refreshA = coordinatorA.refresh(USER_ID, "access_1");
+        CompletableFuture<Boolean> refreshB = coordinatorB.refresh(USER_ID, "access_1");
+        assertFalse(refreshB.isDone());
+        nodeA.saveToken(USER_ID, token("access_2", 3600));
+        spotifyCall.complete(true);
+
+        // Then
+        assertTrue(refreshA.join());
+        assertTrue(refreshB.get(5, TimeUnit.SECONDS));
+        verifyNoInteractions(oauthServiceB);
+        assertTrue(nodeB.tryLockRefresh(USER_ID));
+    }
+
+    private SpotifyTokenResponse token(String accessToken, int expiresIn) {
+        return new SpotifyTokenResponse(accessToken, "Bearer", "refresh_token", expiresIn, "user-top-read");
+    }
+
+    // Drives both wall-clock expiry and the near cache's timers
+    private static class MutableClock extends Clock implements Ticker {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public long read() {
+            return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        }
+    }
+}
@@ -1,192 +1,295 @@
-package com.example.spotify_app.service;
-
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.when;
-import static org.mockito.Mockito.verify;
-
-import com.example.spotify_app.model.Artist.Artist;
-import com.example.spotify_app.model.Artist.ArtistTopTracksResponse;
-import com.example.spotify_app.model.Artist.ArtistAlbumsResponse;
-
-@ExtendWith(MockitoExtension.class)
-class SpotifyArtistServiceTest {
-
-    @Mock
-    private SpotifyApiClient spotifyApiClient;
-
-    private SpotifyArtistService spotifyArtistService;
-
-    private static final String TEST_USER_ID = "test-user-123";
-    private static final String TEST_ARTIST_ID = "test-artist-456";
-    private static final Integer TEST_LIMIT = 20;
-    private static final Integer TEST_OFFSET = 0;
-
-    @BeforeEach
-    void setUp() {
-        spotifyArtistService = new SpotifyArtistService(spotifyApiClient);
-    }
-
-    // Tests for getArtistById method
-
-    @Test
-    void getArtistById_ValidUserIdAndArtistId_returnsArtistResponse() {
-        // Given
-        String expectedEndpoint = "/artists/test-artist-456";
-        Artist expectedArtist = new Artist();
-        ResponseEntity<Artist> mockResponseEntity = ResponseEntity.ok(expectedArtist);
-        when(spotifyApiClient.makeRequest(TEST_USER_ID, expectedEndpoint, Artist.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<Artist> result = spotifyArtistService.getArtistById(TEST_USER_ID, TEST_ARTIST_ID);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertEquals(expectedArtist, result.getBody());
-        verify(spotifyApiClient).makeRequest(TEST_USER_ID, expectedEndpoint, Artist.class);
-    }
-
-    @Test
-    void getArtistById_NullUserId_delegatesToApiClient() {
-        // Given
-        String expectedEndpoint = "/artists/test-artist-456";
-        ResponseEntity<Artist> mockResponseEntity = ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        when(spotifyApiClient.makeRequest(null, expectedEndpoint, Artist.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<Artist> result = spotifyArtistService.getArtistById(null, TEST_ARTIST_ID);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
-        verify(spotifyApiClient).makeRequest(null, expectedEndpoint, Artist.class);
-    }
-
-    @Test
-    void getArtistById_ApiClientReturnsError_returnsErrorResponse() {
-        // Given
-        String expectedEndpoint = "/artists/test-artist-456";
-        ResponseEntity<Artist> errorResponse = ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        when(spotifyApiClient.makeRequest(TEST_USER_ID, expectedEndpoint, Artist.class))
-                .thenReturn(errorResponse);
-
-        // When
-        ResponseEntity<Artist> result = spotifyArtistService.getArtistById(TEST_USER_ID, TEST_ARTIST_ID);
-
-        // Then
-        assertEquals(errorResponse, result);
-        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
-        verify(spotifyApiClient).makeRequest(TEST_USER_ID, expectedEndpoint, Artist.class);
-    }
-
-    // Tests for getTopTracks method
-
-    @Test
-    void getTopTracks_ValidUserIdAndArtistId_returnsTopTracksResponse() {
-        // Given
-        String expectedEndpoint = "/artists/test-artist-456/top-tracks";
-        ArtistTopTracksResponse expectedResponse = new ArtistTopTracksResponse();
-        ResponseEntity<ArtistTopTracksResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
-        when(spotifyApiClient.makeRequest(TEST_USER_ID, expectedEndpoint, ArtistTopTracksResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<ArtistTopTracksResponse> result = spotifyArtistService.getTopTracks(TEST_USER_ID,
-                TEST_ARTIST_ID);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertEquals(expectedResponse, result.getBody());
-        verify(spotifyApiClient).makeRequest(TEST_USER_ID, expectedEndpoint, ArtistTopTracksResponse.class);
-    }
-
-    @Test
-    void getTopTracks_NullUserId_delegatesToApiClient() {
-        // Given
-        String expectedEndpoint = "/artists/test-artist-456/top-tracks";
-        ResponseEntity<ArtistTopTracksResponse> mockResponseEntity = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .build();
-        when(spotifyApiClient.makeRequest(null, expectedEndpoint, ArtistTopTracksResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<ArtistTopTracksResponse> result = spotifyArtistService.getTopTracks(null, TEST_ARTIST_ID);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
-        verify(spotifyApiClient).makeRequest(null, expectedEndpoint, ArtistTopTracksResponse.class);
-    }
-
-    // Tests for getAlbums method
-
-    @Test
-    void getAlbums_ValidParameters_returnsArtistAlbumsResponse() {
-        // Given
-        String expectedEndpoint = "/artists/test-artist-456/albums?limit=20&offset=0";
-        ArtistAlbumsResponse expectedResponse = new ArtistAlbumsResponse();
-        ResponseEntity<ArtistAlbumsResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
-        when(spotifyApiClient.makeRequest(TEST_USER_ID, expectedEndpoint, ArtistAlbumsResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<ArtistAlbumsResponse> result = spotifyArtistService.getAlbums(TEST_USER_ID, TEST_ARTIST_ID,
-                TEST_LIMIT, TEST_OFFSET);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertEquals(expectedResponse, result.getBody());
-        verify(spotifyApiClient).makeRequest(TEST_USER_ID, expectedEndpoint, ArtistAlbumsResponse.class);
-    }
-
-    @Test
-    void getAlbums_DifferentLimitAndOffset_buildsCorrectEndpoint() {
-        // Given
-        Integer customLimit = 50;
-        Integer customOffset = 10;
-        String expectedEndpoint = "/artists/test-artist-456/albums?limit=50&offset=10";
-        ArtistAlbumsResponse expectedResponse = new ArtistAlbumsResponse();
-        ResponseEntity<ArtistAlbumsResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
-        when(spotifyApiClient.makeRequest(TEST_USER_ID, expectedEndpoint, ArtistAlbumsResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<ArtistAlbumsResponse> result = spotifyArtistService.getAlbums(TEST_USER_ID, TEST_ARTIST_ID,
-                customLimit, customOffset);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        verify(spotifyApiClient).makeRequest(TEST_USER_ID, expectedEndpoint, ArtistAlbumsResponse.class);
-    }
-
-    @Test
-    void getAlbums_NullUserId_delegatesToApiClient() {
-        // Given
-        String expectedEndpoint = "/artists/test-artist-456/albums?limit=20&offset=0";
-        ResponseEntity<ArtistAlbumsResponse> mockResponseEntity = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .build();
-        when(spotifyApiClient.makeRequest(null, expectedEndpoint, ArtistAlbumsResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<ArtistAlbumsResponse> result = spotifyArtistService.getAlbums(null, TEST_ARTIST_ID, TEST_LIMIT,
-                TEST_OFFSET);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
-        verify(spotifyApiClient).makeRequest(null, expectedEndpoint, ArtistAlbumsResponse.class);
-    }
-}
+package com.example.spotify_app.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verify;
+
+import com.example.spotify_app.config.CompositeConfig;
+import com.example.spotify_app.model.Artist.Artist;
+import com.example.spotify_app.model.Artist.ArtistTopTracksResponse;
+import com.example.spotify_app.model.Artist.ArtistAlbumsResponse;
+import com.example.spotify_app.model.Artist.ArtistPageResponse;
+import com.example.spotify_app.model.Track.Track;
+
+@ExtendWith(MockitoExtension.class)
+class SpotifyArtistServiceTest {
+
+    @Mock
+    private SpotifyApiClient spotifyApiClient;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private CompositeConfig compositeConfig;
+
+    private SpotifyArtistService spotifyArtistService;
+
+    private static final String TEST_USER_ID = "test-user-123";
+    private static final String TEST_ARTIST_ID = "test-artist-456";
+    private static final Integer TEST_LIMIT = 20;
+    private static final Integer TEST_OFFSET = 0;
+
+    @BeforeEach
+    void setUp() {
+        spotifyArtistService = new SpotifyArtistService(spotifyApiClient, catalogCache, compositeConfig);
+    }
+
+    // Tests for getArtistById method
+
+    @Test
+    void getArtistById_ValidUserIdAndArtistId_returnsArtistResponse() {
+        // Given
+        String expectedEndpoint = "/artists/test-artist-456";
+        Artist expectedArtist = new Artist();
+        ResponseEntity<Artist> mockResponseEntity = ResponseEntity.ok(expectedArtist);
+        when(catalogCache.getOrFetch(TEST_USER_ID, expectedEndpoint, Artist.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<Artist> result = spotifyArtistService.getArtistById(TEST_USER_ID, TEST_ARTIST_ID).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(expectedArtist, result.getBody());
+        verify(catalogCache).getOrFetch(TEST_USER_ID, expectedEndpoint, Artist.class);
+    }
+
+    @Test
+    void getArtistById_NullUserId_delegatesToCatalogCache() {
+        // Given
+        String expectedEndpoint = "/artists/test-artist-456";
+        ResponseEntity<Artist> mockResponseEntity = ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        when(catalogCache.getOrFetch(null, expectedEndpoint, Artist.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<Artist> result = spotifyArtistService.getArtistById(null, TEST_ARTIST_ID).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
+        verify(catalogCache).getOrFetch(null, expectedEndpoint, Artist.class);
+    }
+
+    @Test
+    void getArtistById_CatalogCacheReturnsError_returnsErrorResponse() {
+        // Given
+        String expectedEndpoint = "/artists/test-artist-456";
+        ResponseEntity<Artist> errorResponse = ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        when(catalogCache.getOrFetch(TEST_USER_ID, expectedEndpoint, Artist.class))
+                .thenReturn(CompletableFuture.completedFuture(errorResponse));
+
+        // When
+        ResponseEntity<Artist> result = spotifyArtistService.getArtistById(TEST_USER_ID, TEST_ARTIST_ID).join();
+
+        // Then
+        assertEquals(errorResponse, result);
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+        verify(catalogCache).getOrFetch(TEST_USER_ID, expectedEndpoint, Artist.class);
+    }
+
+    // Tests for getTopTracks method
+
+    @Test
+    void getTopTracks_ValidUserIdAndArtistId_returnsTopTracksResponse() {
+        // Given
+        String expectedEndpoint = "/artists/test-artist-456/top-tracks";
+        ArtistTopTracksResponse expectedResponse = new ArtistTopTracksResponse();
+        ResponseEntity<ArtistTopTracksResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
+        when(spotifyApiClient.makeSharedRequest(TEST_USER_ID, expectedEndpoint, ArtistTopTracksResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<ArtistTopTracksResponse> result = spotifyArtistService.getTopTracks(TEST_USER_ID,
+                TEST_ARTIST_ID).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(expectedResponse, result.getBody());
+        verify(spotifyApiClient).makeSharedRequest(TEST_USER_ID, expectedEndpoint, ArtistTopTracksResponse.class);
+    }
+
+    @Test
+    void getTopTracks_NullUserId_delegatesToApiClient() {
+        // Given
+        String expectedEndpoint = "/artists/test-artist-456/top-tracks";
+        ResponseEntity<ArtistTopTracksResponse> mockResponseEntity = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .build();
+        when(spotifyApiClient.makeSharedRequest(null, expectedEndpoint, ArtistTopTracksResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<ArtistTopTracksResponse> result = spotifyArtistService.getTopTracks(null, TEST_ARTIST_ID).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
+        verify(spotifyApiClient).makeSharedRequest(null, expectedEndpoint, ArtistTopTracksResponse.class);
+    }
+
+    // Tests for getAlbums method
+
+    @Test
+    void getAlbums_ValidParameters_returnsArtistAlbumsResponse() {
+        // Given
+        String expectedEndpoint = "/artists/test-artist-456/albums?limit=20&offset=0";
+        ArtistAlbumsResponse expectedResponse = new ArtistAlbumsResponse();
+        ResponseEntity<ArtistAlbumsResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
+        when(spotifyApiClient.makeSharedRequest(TEST_USER_ID, expectedEndpoint, ArtistAlbumsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<ArtistAlbumsResponse> result = spotifyArtistService.getAlbums(TEST_USER_ID, TEST_ARTIST_ID,
+                TEST_LIMIT, TEST_OFFSET).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(expectedResponse, result.getBody());
+        verify(spotifyApiClient).makeSharedRequest(TEST_USER_ID, expectedEndpoint, ArtistAlbumsResponse.class);
+    }
+
+    @Test
+    void getAlbums_DifferentLimitAndOffset_buildsCorrectEndpoint() {
+        // Given
+        Integer customLimit = 50;
+        Integer customOffset = 10;
+        String expectedEndpoint = "/artists/test-artist-456/albums?limit=50&offset=10";
+        ArtistAlbumsResponse expectedResponse = new ArtistAlbumsResponse();
+        ResponseEntity<ArtistAlbumsResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
+        when(spotifyApiClient.makeSharedRequest(TEST_USER_ID, expectedEndpoint, ArtistAlbumsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<ArtistAlbumsResponse> result = spotifyArtistService.getAlbums(TEST_USER_ID, TEST_ARTIST_ID,
+                customLimit, customOffset).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        verify(spotifyApiClient).makeSharedRequest(TEST_USER_ID, expectedEndpoint, ArtistAlbumsResponse.class);
+    }
+
+    @Test
+    void getAlbums_NullUserId_delegatesToApiClient() {
+        // Given
+        String expectedEndpoint = "/artists/test-artist-456/albums?limit=20&offset=0";
+        ResponseEntity<ArtistAlbumsResponse> mockResponseEntity = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .build();
+        when(spotifyApiClient.makeSharedRequest(null, expectedEndpoint, ArtistAlbumsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<ArtistAlbumsResponse> result = spotifyArtistService.getAlbums(null, TEST_ARTIST_ID, TEST_LIMIT,
+                TEST_OFFSET).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
+        verify(spotifyApiClient).makeSharedRequest(null, expectedEndpoint, ArtistAlbumsResponse.class);
+    }
+
+    // Tests for getArtistPage method
+
+    @Test
+    void getArtistPage_AllSectionsSucceed_combinesSections() {
+        // Given
+        Artist artist = new Artist();
+        Track[] tracks = new Track[] { new Track() };
+        ArtistAlbumsResponse albums = new ArtistAlbumsResponse();
+        when(compositeConfig.getSectionTimeoutMs()).thenReturn(1000L);
+        stubArtistSections(ResponseEntity.ok(artist), ResponseEntity.ok(new ArtistTopTracksResponse(tracks)),
+                CompletableFuture.completedFuture(ResponseEntity.ok(albums)));
+
+        // When
+        ResponseEntity<ArtistPageResponse> result = spotifyArtistService.getArtistPage(TEST_USER_ID, TEST_ARTIST_ID,
+                TEST_LIMIT, TEST_OFFSET).join();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertSame(artist, result.getBody().getArtist());
+        assertSame(tracks, result.getBody().getTopTracks());
+        assertSame(albums, result.getBody().getAlbums());
+        assertTrue(result.getBody().getFailedSections().isEmpty());
+    }
+
+    @Test
+    void getArtistPage_OptionalSectionFails_returnsPartialPage() {
+        // Given
+        Artist artist = new Artist();
+        when(compositeConfig.getSectionTimeoutMs()).thenReturn(1000L);
+        stubArtistSections(ResponseEntity.ok(artist), ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build(),
+                CompletableFuture.failedFuture(new RuntimeException("Network error")));
+
+        // When
+        ResponseEntity<ArtistPageResponse> result = spotifyArtistService.getArtistPage(TEST_USER_ID, TEST_ARTIST_ID,
+                TEST_LIMIT, TEST_OFFSET).join();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertSame(artist, result.getBody().getArtist());
+        assertNull(result.getBody().getTopTracks());
+        assertNull(result.getBody().getAlbums());
+        assertEquals(429, result.getBody().getFailedSections().get("top_tracks"));
+        assertEquals(500, result.getBody().getFailedSections().get("albums"));
+    }
+
+    @Test
+    void getArtistPage_SectionTooSlow_returnsWhatFinishedInTime() {
+        // Given
+        when(compositeConfig.getSectionTimeoutMs()).thenReturn(10L);
+        stubArtistSections(ResponseEntity.ok(new Artist()), ResponseEntity.ok(new ArtistTopTracksResponse()),
+                new CompletableFuture<>());
+
+        // When
+        ResponseEntity<ArtistPageResponse> result = spotifyArtistService.getArtistPage(TEST_USER_ID, TEST_ARTIST_ID,
+                TEST_LIMIT, TEST_OFFSET).join();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertNull(result.getBody().getAlbums());
+        assertEquals(504, result.getBody().getFailedSections().get("albums"));
+    }
+
+    @Test
+    void getArtistPage_ArtistNotFound_returnsArtistStatus() {
+        // Given
+        when(compositeConfig.getSectionTimeoutMs()).thenReturn(1000L);
+        stubArtistSections(ResponseEntity.status(HttpStatus.NOT_FOUND).build(),
+                ResponseEntity.ok(new ArtistTopTracksResponse()),
+                CompletableFuture.completedFuture(ResponseEntity.ok(new ArtistAlbumsResponse())));
+
+        // When
+        ResponseEntity<ArtistPageResponse> result = spotifyArtistService.getArtistPage(TEST_USER_ID, TEST_ARTIST_ID,
+                TEST_LIMIT, TEST_OFFSET).join();
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+        assertNull(result.getBody());
+    }
+
+    private void stubArtistSections(ResponseEntity<Artist> artist, ResponseEntity<ArtistTopTracksResponse> topTracks,
+            CompletableFuture<ResponseEntity<ArtistAlbumsResponse>> albums) {
+        when(catalogCache.getOrFetch(TEST_USER_ID, "/artists/test-artist-456", Artist.class))
+                .thenReturn(CompletableFuture.completedFuture(artist));
+        when(spotifyApiClient.makeSharedRequest(TEST_USER_ID, "/artists/test-artist-456/top-tracks",
+                ArtistTopTracksResponse.class)).thenReturn(CompletableFuture.completedFuture(topTracks));
+        when(spotifyApiClient.makeSharedRequest(TEST_USER_ID, "/artists/test-artist-456/albums?limit=20&offset=0",
+                ArtistAlbumsResponse.class)).thenReturn(albums);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package com.example.spotify_app.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.BatchConfig;
+import com.example.spotify_app.model.Artist.Artist;
+import com.example.spotify_app.model.Batch.BatchItemRequest;
+import com.example.spotify_app.model.Batch.BatchItemResponse;
+import com.example.spotify_app.model.Batch.BatchResponse;
+import com.example.spotify_app.model.Profile.SpotifyTopTracksResponse;
+import com.example.spotify_app.model.Search.SpotifySearchResponse;
+import com.example.spotify_app.model.Track.Track;
+
+@ExtendWith(MockitoExtension.class)
+class SpotifyBatchServiceTest {
+
+    @Mock
+    private SpotifyArtistService artistService;
+
+    @Mock
+    private SpotifyAlbumService albumService;
+
+    @Mock
+    private SpotifyTrackService trackService;
+
+    @Mock
+    private SpotifySearchService searchService;
+
+    @Mock
+    private SpotifyProfileService profileService;
+
+    @Mock
+    private BatchConfig batchConfig;
+
+    private SpotifyBatchService spotifyBatchService;
+
+    private static final String TEST_USER_ID = "test-user-123";
+
+    @BeforeEach
+    void setUp() {
+        spotifyBatchService = new SpotifyBatchService(artistService, albumService, trackService, searchService,
+                profileService, batchConfig);
+    }
+
+    @Test
+    void execute_MixedOperations_returnsKeyedResultsInRequestOrder() {
+        // Given
+        stubLimits(10, 4);
+        Artist artist = new Artist();
+        SpotifySearchResponse searchResponse = new SpotifySearchResponse();
+        SpotifyTopTracksResponse topTracks = new SpotifyTopTracksResponse();
+        when(artistService.getArtistById(TEST_USER_ID, "artist1"))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(artist)));
+        when(trackService.getTrackById(TEST_USER_ID, "missing"))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).build()));
+        when(searchService.search(TEST_USER_ID, "daft punk", "artist", 5, 0))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(searchResponse)));
+        when(profileService.getTopTracks(TEST_USER_ID, 20))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(topTracks)));
+        List<BatchItemRequest> items = List.of(
+                item("a", "artist", "artist1"),
+                item("t", "track", "missing"),
+                new BatchItemRequest("s", "search", null, "daft punk", "artist", 5, null),
+                item("top", "top_tracks", null));
+
+        // When
+        ResponseEntity<BatchResponse> result = spotifyBatchService.execute(TEST_USER_ID, items).join();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        List<BatchItemResponse> results = result.getBody().getResults();
+        assertEquals(List.of("a", "t", "s", "top"), results.stream().map(BatchItemResponse::getKey).toList());
+        assertEquals(200, results.get(0).getStatus());
+        assertSame(artist, results.get(0).getBody());
+        assertEquals(404, results.get(1).getStatus());
+        assertNull(results.get(1).getBody());
+        assertSame(searchResponse, results.get(2).getBody());
+        assertSame(topTracks, results.get(3).getBody());
+    }
+
+    @Test
+    void execute_ConcurrencyLimitReached_startsNextItemWhenOneFinishes() {
+        // Given
+        stubLimits(10, 1);
+        CompletableFuture<ResponseEntity<Artist>> slowArtist = new CompletableFuture<>();
+        when(artistService.getArtistById(TEST_USER_ID, "artist1")).thenReturn(slowArtist);
+        when(trackService.getTrackById(TEST_USER_ID, "track1"))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(new Track())));
+
+        // When
+        CompletableFuture<ResponseEntity<BatchResponse>> result = spotifyBatchService.execute(TEST_USER_ID,
+                List.of(item("a", "artist", "artist1"), item("t", "track", "track1")));
+
+        // Then
+        assertFalse(result.isDone());
+        verify(trackService, never()).getTrackById(anyString(), anyString());
+        slowArtist.complete(ResponseEntity.ok(new Artist()));
+        assertEquals(2, result.join().getBody().getResults().size());
+        verify(trackService).getTrackById(TEST_USER_ID, "track1");
+    }
+
+    @Test
+    void execute_InvalidItems_returnBadRequestPerItem() {
+        // Given
+        stubLimits(10, 4);
+        List<BatchItemRequest> items = List.of(
+                item("no-id", "artist", null),
+                item("unknown", "playlist", "playlist1"),
+                new BatchItemRequest("bad-limit", "top_artists", null, null, null, 500, null));
+
+        // When
+        ResponseEntity<BatchResponse> result = spotifyBatchService.execute(TEST_USER_ID, items).join();
+
+        // Then
+        result.getBody().getResults().forEach(itemResult -> assertEquals(400, itemResult.getStatus()));
+        verifyNoInteractions(artistService, profileService);
+    }
+
+    @Test
+    void execute_IdOrSearchTypeOutsideSpotifyFormat_returnBadRequestPerItem() {
+        // Given
+        stubLimits(10, 4);
+        List<BatchItemRequest> items = List.of(
+                item("parent", "artist", "../me"),
+                item("traversal", "album_tracks", "x/../../me/top/tracks"),
+                item("query", "track", "id?foo"),
+                item("blank", "album", " "),
+                new BatchItemRequest("type", "search", null, "daft punk", "track&market=US", 5, null),
+                new BatchItemRequest("empty-type", "search", null, "daft punk", "artist,", 5, null));
+
+        // When
+        ResponseEntity<BatchResponse> result = spotifyBatchService.execute(TEST_USER_ID, items).join();
+
+        // Then
+        result.getBody().getResults().forEach(itemResult -> assertEquals(400, itemResult.getStatus()));
+        verifyNoInteractions(artistService, albumService, trackService, searchService);
+    }
+
+    @Test
+    void execute_ServiceThrows_returnsInternalServerErrorForThatItem() {
+        // Given
+        stubLimits(10, 4);
+        when(albumService.getAlbumTracks(TEST_USER_ID, "album1")).thenThrow(new RuntimeException("Service error"));
+
+        // When
+        ResponseEntity<BatchResponse> result = spotifyBatchService.execute(TEST_USER_ID,
+                List.of(item("tracks", "album_tracks", "album1"))).join();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(500, result.getBody().getResults().get(0).getStatus());
+    }
+
+    @Test
+    void execute_TooManyItems_returnsBadRequest() {
+        // Given
+        when(batchConfig.getMaxItems()).thenReturn(1);
+
+        // When
+        ResponseEntity<BatchResponse> result = spotifyBatchService.execute(TEST_USER_ID,
+                List.of(item("a", "artist", "artist1"), item("b", "artist", "artist2"))).join();
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        verifyNoInteractions(artistService);
+    }
+
+    @Test
+    void execute_EmptyBatch_returnsBadRequest() {
+        // When
+        ResponseEntity<BatchResponse> result = spotifyBatchService.execute(TEST_USER_ID, List.of()).join();
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
+    private void stubLimits(int maxItems, int maxConcurrency) {
+        when(batchConfig.getMaxItems()).thenReturn(maxItems);
+        when(batchConfig.getMaxConcurrency()).thenReturn(maxConcurrency);
+    }
+
+    private BatchItemRequest item(String key, String operation, String id) {
+        return new BatchItemRequest(key, operation, id, null, null, null, null);
+    }
+}
@@ -1,199 +1,310 @@
-package com.example.spotify_app.service;
-
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.when;
-import static org.mockito.Mockito.verify;
-
-import com.example.spotify_app.model.Profile.SpotifyProfileResponse;
-import com.example.spotify_app.model.Profile.SpotifyTopArtistsResponse;
-import com.example.spotify_app.model.Profile.SpotifyTopTracksResponse;
-
-@ExtendWith(MockitoExtension.class)
-class SpotifyProfileServiceTest {
-
-    @Mock
-    private SpotifyApiClient spotifyApiClient;
-
-    private SpotifyProfileService spotifyProfileService;
-
-    private static final String TEST_USER_ID = "test-user-123";
-    private static final int TEST_LIMIT = 20;
-    private static final String PROFILE_ENDPOINT = "/me";
-    private static final String TOP_ARTISTS_ENDPOINT = "/me/top/artists?limit=20";
-    private static final String TOP_TRACKS_ENDPOINT = "/me/top/tracks?limit=20";
-
-    @BeforeEach
-    void setUp() {
-        spotifyProfileService = new SpotifyProfileService(spotifyApiClient);
-    }
-
-    // Tests for getProfile method
-
-    @Test
-    void getProfile_ValidUserId_returnsProfileResponse() {
-        // Given
-        SpotifyProfileResponse expectedResponse = new SpotifyProfileResponse();
-        ResponseEntity<SpotifyProfileResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
-        when(spotifyApiClient.makeRequest(TEST_USER_ID, PROFILE_ENDPOINT, SpotifyProfileResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<SpotifyProfileResponse> result = spotifyProfileService.getProfile(TEST_USER_ID);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertEquals(expectedResponse, result.getBody());
-        verify(spotifyApiClient).makeRequest(TEST_USER_ID, PROFILE_ENDPOINT, SpotifyProfileResponse.class);
-    }
-
-    @Test
-    void getProfile_NullUserId_delegatesToApiClient() {
-        // Given
-        ResponseEntity<SpotifyProfileResponse> mockResponseEntity = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .build();
-        when(spotifyApiClient.makeRequest(null, PROFILE_ENDPOINT, SpotifyProfileResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<SpotifyProfileResponse> result = spotifyProfileService.getProfile(null);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
-        verify(spotifyApiClient).makeRequest(null, PROFILE_ENDPOINT, SpotifyProfileResponse.class);
-    }
-
-    @Test
-    void getProfile_ApiClientReturnsError_returnsErrorResponse() {
-        // Given
-        ResponseEntity<SpotifyProfileResponse> errorResponse = ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .build();
-        when(spotifyApiClient.makeRequest(TEST_USER_ID, PROFILE_ENDPOINT, SpotifyProfileResponse.class))
-                .thenReturn(errorResponse);
-
-        // When
-        ResponseEntity<SpotifyProfileResponse> result = spotifyProfileService.getProfile(TEST_USER_ID);
-
-        // Then
-        assertEquals(errorResponse, result);
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, result.getStatusCode());
-        verify(spotifyApiClient).makeRequest(TEST_USER_ID, PROFILE_ENDPOINT, SpotifyProfileResponse.class);
-    }
-
-    @Test
-    void getTopArtists_ValidUserIdAndLimit_returnsTopArtistsResponse() {
-        // Given
-        SpotifyTopArtistsResponse expectedResponse = new SpotifyTopArtistsResponse();
-        ResponseEntity<SpotifyTopArtistsResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
-        when(spotifyApiClient.makeRequest(TEST_USER_ID, TOP_ARTISTS_ENDPOINT, SpotifyTopArtistsResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<SpotifyTopArtistsResponse> result = spotifyProfileService.getTopArtists(TEST_USER_ID,
-                TEST_LIMIT);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertEquals(expectedResponse, result.getBody());
-        verify(spotifyApiClient).makeRequest(TEST_USER_ID, TOP_ARTISTS_ENDPOINT, SpotifyTopArtistsResponse.class);
-    }
-
-    @Test
-    void getTopArtists_DifferentLimit_buildsCorrectEndpoint() {
-        // Given
-        int customLimit = 10;
-        String expectedEndpoint = "/me/top/artists?limit=10";
-        SpotifyTopArtistsResponse expectedResponse = new SpotifyTopArtistsResponse();
-        ResponseEntity<SpotifyTopArtistsResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
-        when(spotifyApiClient.makeRequest(TEST_USER_ID, expectedEndpoint, SpotifyTopArtistsResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<SpotifyTopArtistsResponse> result = spotifyProfileService.getTopArtists(TEST_USER_ID,
-                customLimit);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        verify(spotifyApiClient).makeRequest(TEST_USER_ID, expectedEndpoint, SpotifyTopArtistsResponse.class);
-    }
-
-    @Test
-    void getTopArtists_NullUserId_delegatesToApiClient() {
-        // Given
-        ResponseEntity<SpotifyTopArtistsResponse> mockResponseEntity = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .build();
-        when(spotifyApiClient.makeRequest(null, TOP_ARTISTS_ENDPOINT, SpotifyTopArtistsResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<SpotifyTopArtistsResponse> result = spotifyProfileService.getTopArtists(null, TEST_LIMIT);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
-        verify(spotifyApiClient).makeRequest(null, TOP_ARTISTS_ENDPOINT, SpotifyTopArtistsResponse.class);
-    }
-
-    @Test
-    void getTopTracks_ValidUserIdAndLimit_returnsTopTracksResponse() {
-        // Given
-        SpotifyTopTracksResponse expectedResponse = new SpotifyTopTracksResponse();
-        ResponseEntity<SpotifyTopTracksResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
-        when(spotifyApiClient.makeRequest(TEST_USER_ID, TOP_TRACKS_ENDPOINT, SpotifyTopTracksResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<SpotifyTopTracksResponse> result = spotifyProfileService.getTopTracks(TEST_USER_ID, TEST_LIMIT);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertEquals(expectedResponse, result.getBody());
-        verify(spotifyApiClient).makeRequest(TEST_USER_ID, TOP_TRACKS_ENDPOINT, SpotifyTopTracksResponse.class);
-    }
-
-    @Test
-    void getTopTracks_DifferentLimit_buildsCorrectEndpoint() {
-        // Given
-        int customLimit = 10;
-        String expectedEndpoint = "/me/top/tracks?limit=10";
-        SpotifyTopTracksResponse expectedResponse = new SpotifyTopTracksResponse();
-        ResponseEntity<SpotifyTopTracksResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
-        when(spotifyApiClient.makeRequest(TEST_USER_ID, expectedEndpoint, SpotifyTopTracksResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<SpotifyTopTracksResponse> result = spotifyProfileService.getTopTracks(TEST_USER_ID, customLimit);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        verify(spotifyApiClient).makeRequest(TEST_USER_ID, expectedEndpoint, SpotifyTopTracksResponse.class);
-    }
-
-    @Test
-    void getTopTracks_NullUserId_delegatesToApiClient() {
-        // Given
-        ResponseEntity<SpotifyTopTracksResponse> mockResponseEntity = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .build();
-        when(spotifyApiClient.makeRequest(null, TOP_TRACKS_ENDPOINT, SpotifyTopTracksResponse.class))
-                .thenReturn(mockResponseEntity);
-
-        // When
-        ResponseEntity<SpotifyTopTracksResponse> result = spotifyProfileService.getTopTracks(null, TEST_LIMIT);
-
-        // Then
-        assertEquals(mockResponseEntity, result);
-        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
-        verify(spotifyApiClient).makeRequest(null, TOP_TRACKS_ENDPOINT, SpotifyTopTracksResponse.class);
-    }
-}
+package com.example.spotify_app.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verify;
+
+import com.example.spotify_app.config.CompositeConfig;
+import com.example.spotify_app.model.Profile.SpotifyDashboardResponse;
+import com.example.spotify_app.model.Profile.SpotifyProfileResponse;
+import com.example.spotify_app.model.Profile.SpotifyTopArtistsResponse;
+import com.example.spotify_app.model.Profile.SpotifyTopTracksResponse;
+
+@ExtendWith(MockitoExtension.class)
+class SpotifyProfileServiceTest {
+
+    @Mock
+    private SpotifyApiClient spotifyApiClient;
+
+    @Mock
+    private CompositeConfig compositeConfig;
+
+    private SpotifyProfileService spotifyProfileService;
+
+    private static final String TEST_USER_ID = "test-user-123";
+    private static final int TEST_LIMIT = 20;
+    private static final String PROFILE_ENDPOINT = "/me";
+    private static final String TOP_ARTISTS_ENDPOINT = "/me/top/artists?limit=20";
+    private static final String TOP_TRACKS_ENDPOINT = "/me/top/tracks?limit=20";
+    private static final String TEST_ACCESS_TOKEN = "test-access-token";
+
+    @BeforeEach
+    void setUp() {
+        spotifyProfileService = new SpotifyProfileService(spotifyApiClient, compositeConfig);
+    }
+
+    // Tests for getProfile method
+
+    @Test
+    void getProfile_ValidUserId_returnsProfileResponse() {
+        // Given
+        SpotifyProfileResponse expectedResponse = new SpotifyProfileResponse();
+        ResponseEntity<SpotifyProfileResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
+        when(spotifyApiClient.makeRequest(TEST_USER_ID, PROFILE_ENDPOINT, SpotifyProfileResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<SpotifyProfileResponse> result = spotifyProfileService.getProfile(TEST_USER_ID).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(expectedResponse, result.getBody());
+        verify(spotifyApiClient).makeRequest(TEST_USER_ID, PROFILE_ENDPOINT, SpotifyProfileResponse.class);
+    }
+
+    @Test
+    void getProfile_NullUserId_delegatesToApiClient() {
+        // Given
+        ResponseEntity<SpotifyProfileResponse> mockResponseEntity = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .build();
+        when(spotifyApiClient.makeRequest(null, PROFILE_ENDPOINT, SpotifyProfileResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<SpotifyProfileResponse> result = spotifyProfileService.getProfile(null).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
+        verify(spotifyApiClient).makeRequest(null, PROFILE_ENDPOINT, SpotifyProfileResponse.class);
+    }
+
+    @Test
+    void getProfile_ApiClientReturnsError_returnsErrorResponse() {
+        // Given
+        ResponseEntity<SpotifyProfileResponse> errorResponse = ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .build();
+        when(spotifyApiClient.makeRequest(TEST_USER_ID, PROFILE_ENDPOINT, SpotifyProfileResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(errorResponse));
+
+        // When
+        ResponseEntity<SpotifyProfileResponse> result = spotifyProfileService.getProfile(TEST_USER_ID).join();
+
+        // Then
+        assertEquals(errorResponse, result);
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, result.getStatusCode());
+        verify(spotifyApiClient).makeRequest(TEST_USER_ID, PROFILE_ENDPOINT, SpotifyProfileResponse.class);
+    }
+
+    @Test
+    void getTopArtists_ValidUserIdAndLimit_returnsTopArtistsResponse() {
+        // Given
+        SpotifyTopArtistsResponse expectedResponse = new SpotifyTopArtistsResponse();
+        ResponseEntity<SpotifyTopArtistsResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
+        when(spotifyApiClient.makeRequest(TEST_USER_ID, TOP_ARTISTS_ENDPOINT, SpotifyTopArtistsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<SpotifyTopArtistsResponse> result = spotifyProfileService.getTopArtists(TEST_USER_ID,
+                TEST_LIMIT).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(expectedResponse, result.getBody());
+        verify(spotifyApiClient).makeRequest(TEST_USER_ID, TOP_ARTISTS_ENDPOINT, SpotifyTopArtistsResponse.class);
+    }
+
+    @Test
+    void getTopArtists_DifferentLimit_buildsCorrectEndpoint() {
+        // Given
+        int customLimit = 10;
+        String expectedEndpoint = "/me/top/artists?limit=10";
+        SpotifyTopArtistsResponse expectedResponse = new SpotifyTopArtistsResponse();
+        ResponseEntity<SpotifyTopArtistsResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
+        when(spotifyApiClient.makeRequest(TEST_USER_ID, expectedEndpoint, SpotifyTopArtistsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<SpotifyTopArtistsResponse> result = spotifyProfileService.getTopArtists(TEST_USER_ID,
+                customLimit).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        verify(spotifyApiClient).makeRequest(TEST_USER_ID, expectedEndpoint, SpotifyTopArtistsResponse.class);
+    }
+
+    @Test
+    void getTopArtists_NullUserId_delegatesToApiClient() {
+        // Given
+        ResponseEntity<SpotifyTopArtistsResponse> mockResponseEntity = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .build();
+        when(spotifyApiClient.makeRequest(null, TOP_ARTISTS_ENDPOINT, SpotifyTopArtistsResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<SpotifyTopArtistsResponse> result = spotifyProfileService.getTopArtists(null, TEST_LIMIT).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
+        verify(spotifyApiClient).makeRequest(null, TOP_ARTISTS_ENDPOINT, SpotifyTopArtistsResponse.class);
+    }
+
+    @Test
+    void getTopTracks_ValidUserIdAndLimit_returnsTopTracksResponse() {
+        // Given
+        SpotifyTopTracksResponse expectedResponse = new SpotifyTopTracksResponse();
+        ResponseEntity<SpotifyTopTracksResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
+        when(spotifyApiClient.makeRequest(TEST_USER_ID, TOP_TRACKS_ENDPOINT, SpotifyTopTracksResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<SpotifyTopTracksResponse> result = spotifyProfileService.getTopTracks(
+                TEST_USER_ID, TEST_LIMIT).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(expectedResponse, result.getBody());
+        verify(spotifyApiClient).makeRequest(TEST_USER_ID, TOP_TRACKS_ENDPOINT, SpotifyTopTracksResponse.class);
+    }
+
+    @Test
+    void getTopTracks_DifferentLimit_buildsCorrectEndpoint() {
+        // Given
+        int customLimit = 10;
+        String expectedEndpoint = "/me/top/tracks?limit=10";
+        SpotifyTopTracksResponse expectedResponse = new SpotifyTopTracksResponse();
+        ResponseEntity<SpotifyTopTracksResponse> mockResponseEntity = ResponseEntity.ok(expectedResponse);
+        when(spotifyApiClient.makeRequest(TEST_USER_ID, expectedEndpoint, SpotifyTopTracksResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<SpotifyTopTracksResponse> result = spotifyProfileService.getTopTracks(
+                TEST_USER_ID, customLimit).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        verify(spotifyApiClient).makeRequest(TEST_USER_ID, expectedEndpoint, SpotifyTopTracksResponse.class);
+    }
+
+    @Test
+    void getTopTracks_NullUserId_delegatesToApiClient() {
+        // Given
+        ResponseEntity<SpotifyTopTracksResponse> mockResponseEntity = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .build();
+        when(spotifyApiClient.makeRequest(null, TOP_TRACKS_ENDPOINT, SpotifyTopTracksResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(mockResponseEntity));
+
+        // When
+        ResponseEntity<SpotifyTopTracksResponse> result = spotifyProfileService.getTopTracks(null, TEST_LIMIT).join();
+
+        // Then
+        assertEquals(mockResponseEntity, result);
+        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
+        verify(spotifyApiClient).makeRequest(null, TOP_TRACKS_ENDPOINT, SpotifyTopTracksResponse.class);
+    }
+
+    // Tests for getDashboard method
+
+    @Test
+    void getDashboard_AllSectionsSucceed_resolvesTokenOnceAndCombinesSections() {
+        // Given
+        SpotifyProfileResponse profile = new SpotifyProfileResponse();
+        SpotifyTopArtistsResponse topArtists = new SpotifyTopArtistsResponse();
+        SpotifyTopTracksResponse topTracks = new SpotifyTopTracksResponse();
+        when(spotifyApiClient.resolveValidAccessToken(TEST_USER_ID))
+                .thenReturn(CompletableFuture.completedFuture(TEST_ACCESS_TOKEN));
+        when(compositeConfig.getSectionTimeoutMs()).thenReturn(1000L);
+        stubDashboardSections(ResponseEntity.ok(profile), ResponseEntity.ok(topArtists),
+                CompletableFuture.completedFuture(ResponseEntity.ok(topTracks)));
+
+        // When
+        ResponseEntity<SpotifyDashboardResponse> result = spotifyProfileService.getDashboard(TEST_USER_ID,
+                TEST_LIMIT).join();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertSame(profile, result.getBody().getProfile());
+        assertSame(topArtists, result.getBody().getTopArtists());
+        assertSame(topTracks, result.getBody().getTopTracks());
+        assertTrue(result.getBody().getFailedSections().isEmpty());
+        verify(spotifyApiClient, times(1)).resolveValidAccessToken(TEST_USER_ID);
+        verify(spotifyApiClient, never()).makeRequest(anyString(), anyString(), any());
+    }
+
+    @Test
+    void getDashboard_TopListTooSlow_returnsPartialDashboard() {
+        // Given
+        when(spotifyApiClient.resolveValidAccessToken(TEST_USER_ID))
+                .thenReturn(CompletableFuture.completedFuture(TEST_ACCESS_TOKEN));
+        when(compositeConfig.getSectionTimeoutMs()).thenReturn(10L);
+        stubDashboardSections(ResponseEntity.ok(new SpotifyProfileResponse()),
+                ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build(), new CompletableFuture<>());
+
+        // When
+        ResponseEntity<SpotifyDashboardResponse> result = spotifyProfileService.getDashboard(TEST_USER_ID,
+                TEST_LIMIT).join();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertNull(result.getBody().getTopArtists());
+        assertNull(result.getBody().getTopTracks());
+        assertEquals(429, result.getBody().getFailedSections().get("top_artists"));
+        assertEquals(504, result.getBody().getFailedSections().get("top_tracks"));
+    }
+
+    @Test
+    void getDashboard_ProfileFails_returnsProfileStatus() {
+        // Given
+        when(spotifyApiClient.resolveValidAccessToken(TEST_USER_ID))
+                .thenReturn(CompletableFuture.completedFuture(TEST_ACCESS_TOKEN));
+        when(compositeConfig.getSectionTimeoutMs()).thenReturn(1000L);
+        stubDashboardSections(ResponseEntity.status(HttpStatus.FORBIDDEN).build(),
+                ResponseEntity.ok(new SpotifyTopArtistsResponse()),
+                CompletableFuture.completedFuture(ResponseEntity.ok(new SpotifyTopTracksResponse())));
+
+        // When
+        ResponseEntity<SpotifyDashboardResponse> result = spotifyProfileService.getDashboard(TEST_USER_ID,
+                TEST_LIMIT).join();
+
+        // Then
+        assertEquals(HttpStatus.FORBIDDEN, result.getStatusCode());
+        assertNull(result.getBody());
+    }
+
+    @Test
+    void getDashboard_NoSession_returnsUnauthorizedWithoutCallingSpotify() {
+        // Given
+        when(spotifyApiClient.resolveValidAccessToken(TEST_USER_ID))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        ResponseEntity<SpotifyDashboardResponse> result = spotifyProfileService.getDashboard(TEST_USER_ID,
+                TEST_LIMIT).join();
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
+        verify(spotifyApiClient, never()).makeRequestWithToken(anyString(), anyString(), anyString(), any());
+    }
+
+    private void stubDashboardSections(ResponseEntity<SpotifyProfileResponse> profile,
+            ResponseEntity<SpotifyTopArtistsResponse> topArtists,
+            CompletableFuture<ResponseEntity<SpotifyTopTracksResponse>> topTracks) {
+        when(spotifyApiClient.makeRequestWithToken(TEST_USER_ID, TEST_ACCESS_TOKEN, PROFILE_ENDPOINT,
+                SpotifyProfileResponse.class)).thenReturn(CompletableFuture.completedFuture(profile));
+        when(spotifyApiClient.makeRequestWithToken(TEST_USER_ID, TEST_ACCESS_TOKEN, TOP_ARTISTS_ENDPOINT,
+                SpotifyTopArtistsResponse.class)).thenReturn(CompletableFuture.completedFuture(topArtists));
+        when(spotifyApiClient.makeRequestWithToken(TEST_USER_ID, TEST_ACCESS_TOKEN, TOP_TRACKS_ENDPOINT,
+                SpotifyTopTracksResponse.class)).thenReturn(topTracks);
+    }
+}
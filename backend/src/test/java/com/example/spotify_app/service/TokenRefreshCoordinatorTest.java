@@ -0,0 +1,162 @@
+package com.example.spotify_app.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRefreshCoordinatorTest {
+
+    @Mock
+    private SpotifyOAuthService oauthService;
+
+    private TokenStore tokenStore;
+
+    private TokenRefreshCoordinator refreshCoordinator;
+
+    private ExecutorService executor;
+
+    private static final String TEST_USER_ID = "test_user_id";
+    private static final String STALE_ACCESS_TOKEN = "stale_access_token";
+    private static final String FRESH_ACCESS_TOKEN = "fresh_access_token";
+
+    @BeforeEach
+    void setUp() {
+        tokenStore = new InMemoryTokenStore(Duration.ofDays(7), Duration.ofDays(30), 1000, Clock.systemUTC(),
+                Ticker.systemTicker());
+        refreshCoordinator = new TokenRefreshCoordinator(tokenStore, oauthService);
+        executor = Executors.newFixedThreadPool(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void refresh_StaleToken_refreshesAndReturnsTrue() {
+        // Given
+        tokenStore.saveToken(TEST_USER_ID, token(STALE_ACCESS_TOKEN));
+        when(oauthService.refreshToken(TEST_USER_ID)).thenReturn(CompletableFuture.completedFuture(true));
+
+        // When
+        boolean result = refreshCoordinator.refresh(TEST_USER_ID, STALE_ACCESS_TOKEN).join();
+
+        // Then
+        assertTrue(result);
+        verify(oauthService).refreshToken(TEST_USER_ID);
+    }
+
+    @Test
+    void refresh_TokenAlreadyRotated_returnsTrueWithoutRefreshing() {
+        // Given
+        tokenStore.saveToken(TEST_USER_ID, token(FRESH_ACCESS_TOKEN));
+
+        // When
+        boolean result = refreshCoordinator.refresh(TEST_USER_ID, STALE_ACCESS_TOKEN).join();
+
+        // Then
+        assertTrue(result);
+        verify(oauthService, never()).refreshToken(TEST_USER_ID);
+    }
+
+    @Test
+    void refresh_RefreshFails_returnsFalse() {
+        // Given
+        tokenStore.saveToken(TEST_USER_ID, token(STALE_ACCESS_TOKEN));
+        when(oauthService.refreshToken(TEST_USER_ID)).thenReturn(CompletableFuture.completedFuture(false));
+
+        // When
+        boolean result = refreshCoordinator.refresh(TEST_USER_ID, STALE_ACCESS_TOKEN).join();
+
+        // Then
+        assertFalse(result);
+    }
+
+    @Test
+    void refresh_RefreshThrows_returnsFalseAndAllowsNextRefresh() {
+        // Given
+        tokenStore.saveToken(TEST_USER_ID, token(STALE_ACCESS_TOKEN));
+        when(oauthService.refreshToken(TEST_USER_ID))
+                .thenThrow(new RuntimeException("Network error"))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // When
+        boolean first = refreshCoordinator.refresh(TEST_USER_ID, STALE_ACCESS_TOKEN).join();
+        boolean second = refreshCoordinator.refresh(TEST_USER_ID, STALE_ACCESS_TOKEN).join();
+
+        // Then
+        assertFalse(first);
+        assertTrue(second);
+        verify(oauthService, times(2)).refreshToken(TEST_USER_ID);
+    }
+
+    @Test
+    void refresh_RefreshCompletesExceptionally_returnsFalse() {
+        // Given
+        tokenStore.saveToken(TEST_USER_ID, token(STALE_ACCESS_TOKEN));
+        when(oauthService.refreshToken(TEST_USER_ID))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Network error")));
+
+        // When
+        boolean result = refreshCoordinator.refresh(TEST_USER_ID, STALE_ACCESS_TOKEN).join();
+
+        // Then
+        assertFalse(result);
+    }
+
+    @Test
+    void refresh_ConcurrentCallersForSameUser_refreshesOnce() throws Exception {
+        // Given
+        tokenStore.saveToken(TEST_USER_ID, token(STALE_ACCESS_TOKEN));
+        CompletableFuture<Boolean> pendingRefresh = new CompletableFuture<>();
+        when(oauthService.refreshToken(TEST_USER_ID)).thenReturn(pendingRefresh);
+
+        // When
+        List<Future<CompletableFuture<Boolean>>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(executor.submit(() -> refreshCoordinator.refresh(TEST_USER_ID, STALE_ACCESS_TOKEN)));
+        }
+        List<CompletableFuture<Boolean>> refreshes = new ArrayList<>();
+        for (Future<CompletableFuture<Boolean>> result : results) {
+            refreshes.add(result.get(5, TimeUnit.SECONDS));
+        }
+        tokenStore.saveToken(TEST_USER_ID, token(FRESH_ACCESS_TOKEN));
+        pendingRefresh.complete(true);
+
+        // Then
+        for (CompletableFuture<Boolean> refresh : refreshes) {
+            assertTrue(refresh.get(5, TimeUnit.SECONDS));
+        }
+        verify(oauthService, times(1)).refreshToken(TEST_USER_ID);
+        assertEquals(FRESH_ACCESS_TOKEN, tokenStore.getToken(TEST_USER_ID).getAccessToken());
+    }
+
+    private SpotifyTokenResponse token(String accessToken) {
+        return new SpotifyTokenResponse(accessToken, "Bearer", "refresh_token_123", 3600, "user-top-read");
+    }
+}
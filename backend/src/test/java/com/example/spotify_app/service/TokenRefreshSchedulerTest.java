@@ -0,0 +1,202 @@
+package com.example.spotify_app.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.TokenRefreshConfig;
+import com.example.spotify_app.model.SpotifyTokenResponse;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRefreshSchedulerTest {
+
+    @Mock
+    private TokenRefreshCoordinator refreshCoordinator;
+
+    @Mock
+    private TokenRefreshConfig refreshConfig;
+
+    private TokenStore tokenStore;
+
+    private TokenRefreshScheduler scheduler;
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        tokenStore = new InMemoryTokenStore(Duration.ofDays(7), Duration.ofDays(30), 1000, CLOCK, Ticker.systemTicker());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void refreshExpiringTokens_Disabled_doesNothing() {
+        // Given
+        when(refreshConfig.isEnabled()).thenReturn(false);
+        tokenStore.saveToken("due", token("access_due", 60));
+        scheduler = new TokenRefreshScheduler(tokenStore, refreshCoordinator, refreshConfig, CLOCK);
+
+        // When
+        scheduler.refreshExpiringTokens();
+
+        // Then
+        verify(refreshCoordinator, never()).refresh(anyString(), anyString());
+    }
+
+    @Test
+    void refreshExpiringTokens_TokenInsideLeadWindow_refreshesOnlyDueTokens() {
+        // Given
+        stubConfig(300, 0, 50);
+        when(refreshConfig.isEnabled()).thenReturn(true);
+        tokenStore.saveToken("due", token("access_due", 120));
+        tokenStore.saveToken("not_due", token("access_not_due", 3600));
+        when(refreshCoordinator.refresh("due", "access_due")).thenReturn(CompletableFuture.completedFuture(true));
+        scheduler = new TokenRefreshScheduler(tokenStore, refreshCoordinator, refreshConfig, CLOCK);
+
+        // When
+        scheduler.refreshExpiringTokens();
+
+        // Then
+        verify(refreshCoordinator).refresh("due", "access_due");
+        verify(refreshCoordinator, never()).refresh("not_due", "access_not_due");
+    }
+
+    @Test
+    void findDueUserIds_MoreDueThanBatchSize_returnsSoonestExpiringBatch() {
+        // Given
+        stubConfig(300, 0, 2);
+        tokenStore.saveToken("third", token("access_third", 200));
+        tokenStore.saveToken("first", token("access_first", 10));
+        tokenStore.saveToken("second", token("access_second", 100));
+        scheduler = new TokenRefreshScheduler(tokenStore, refreshCoordinator, refreshConfig, CLOCK);
+
+        // When
+        List<String> result = scheduler.findDueUserIds();
+
+        // Then
+        assertEquals(List.of("first", "second"), result);
+    }
+
+    @Test
+    void findDueUserIds_WithJitter_refreshesWithinLeadPlusJitterWindow() {
+        // Given
+        stubConfig(300, 60, 50);
+        tokenStore.saveToken("inside_lead", token("access_inside", 300));
+        tokenStore.saveToken("beyond_jitter", token("access_beyond", 361));
+        scheduler = new TokenRefreshScheduler(tokenStore, refreshCoordinator, refreshConfig, CLOCK);
+
+        // When
+        List<String> result = scheduler.findDueUserIds();
+
+        // Then
+        assertTrue(result.contains("inside_lead"));
+        assertFalse(result.contains("beyond_jitter"));
+    }
+
+    @Test
+    void refreshExpiringTokens_RefreshFails_completesSweep() {
+        // Given
+        stubConfig(300, 0, 50);
+        when(refreshConfig.isEnabled()).thenReturn(true);
+        tokenStore.saveToken("due", token("access_due", 120));
+        when(refreshCoordinator.refresh("due", "access_due")).thenReturn(CompletableFuture.completedFuture(false));
+        scheduler = new TokenRefreshScheduler(tokenStore, refreshCoordinator, refreshConfig, CLOCK);
+
+        // When
+        scheduler.refreshExpiringTokens();
+
+        // Then
+        verify(refreshCoordinator, times(1)).refresh("due", "access_due");
+    }
+
+    @Test
+    void findDueUserIds_SessionIdleLongerThanMaxIdle_isSkipped() {
+        // Given
+        stubConfig(300, 0, 50);
+        when(refreshConfig.getMaxIdleSeconds()).thenReturn(Duration.ofDays(1).toSeconds());
+        MutableClock clock = new MutableClock(NOW);
+        tokenStore = new InMemoryTokenStore(Duration.ofDays(7), Duration.ofDays(30), 1000, clock, clock);
+        int expiresIn = (int) Duration.ofDays(2).plusSeconds(120).toSeconds();
+        tokenStore.saveToken("active", token("access_active", expiresIn));
+        tokenStore.saveToken("abandoned", token("access_abandoned", expiresIn));
+        clock.advance(Duration.ofDays(2));
+        tokenStore.getToken("active");
+        scheduler = new TokenRefreshScheduler(tokenStore, refreshCoordinator, refreshConfig, clock);
+
+        // When
+        List<String> result = scheduler.findDueUserIds();
+
+        // Then
+        assertEquals(List.of("active"), result);
+    }
+
+    private void stubConfig(long leadSeconds, long jitterSeconds, int batchSize) {
+        when(refreshConfig.getLeadSeconds()).thenReturn(leadSeconds);
+        when(refreshConfig.getJitterSeconds()).thenReturn(jitterSeconds);
+        when(refreshConfig.getBatchSize()).thenReturn(batchSize);
+        when(refreshConfig.getMaxConcurrency()).thenReturn(2);
+    }
+
+    private SpotifyTokenResponse token(String accessToken, int expiresIn) {
+        return new SpotifyTokenResponse(accessToken, "Bearer", "refresh_token_123", expiresIn, "user-top-read");
+    }
+
+    private static class MutableClock extends Clock implements Ticker {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public long read() {
+            return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        }
+    }
+}
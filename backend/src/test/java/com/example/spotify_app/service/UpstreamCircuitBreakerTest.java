@@ -0,0 +1,274 @@
+package com.example.spotify_app.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.SocketTimeoutException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.CircuitBreakerConfig;
+import com.example.spotify_app.service.UpstreamCircuitBreaker.State;
+
+@ExtendWith(MockitoExtension.class)
+class UpstreamCircuitBreakerTest {
+
+    @Mock
+    private CircuitBreakerConfig circuitBreakerConfig;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+
+    private static final String ARTIST_ENDPOINT = "/artists/artist_1";
+    private static final String SEARCH_ENDPOINT = "/search?q=test&type=track";
+
+    @Test
+    void family_KnownAndUnknownEndpoints_mapToEndpointFamily() {
+        // When & Then
+        assertEquals("artists", UpstreamCircuitBreaker.family("/artists/1/albums?limit=20"));
+        assertEquals("albums", UpstreamCircuitBreaker.family("/albums?ids=1,2"));
+        assertEquals("tracks", UpstreamCircuitBreaker.family("/tracks/1"));
+        assertEquals("search", UpstreamCircuitBreaker.family(SEARCH_ENDPOINT));
+        assertEquals("me", UpstreamCircuitBreaker.family("/me"));
+        assertEquals("me", UpstreamCircuitBreaker.family("/me/top/tracks?limit=10"));
+        assertEquals("other", UpstreamCircuitBreaker.family("/browse/new-releases"));
+        assertEquals("other", UpstreamCircuitBreaker.family("/meta"));
+    }
+
+    @Test
+    void tryCall_ConsecutiveFailuresReachThreshold_opensCircuit() {
+        // Given
+        UpstreamCircuitBreaker breaker = breaker(3, 30, 1);
+        fail(breaker, ARTIST_ENDPOINT, 3);
+
+        // When
+        UpstreamCircuitBreaker.Call result = breaker.tryCall(ARTIST_ENDPOINT);
+
+        // Then
+        assertFalse(result.permitted());
+        assertEquals(30, result.retryAfterSeconds());
+        assertEquals(State.OPEN, breaker.getState("artists"));
+    }
+
+    @Test
+    void tryCall_SuccessBetweenFailures_keepsCircuitClosed() {
+        // Given
+        UpstreamCircuitBreaker breaker = breaker(3, 30, 1);
+        fail(breaker, ARTIST_ENDPOINT, 2);
+        breaker.tryCall(ARTIST_ENDPOINT).complete(null);
+        fail(breaker, ARTIST_ENDPOINT, 2);
+
+        // When
+        UpstreamCircuitBreaker.Call result = breaker.tryCall(ARTIST_ENDPOINT);
+
+        // Then
+        assertTrue(result.permitted());
+        assertEquals(State.CLOSED, breaker.getState("artists"));
+    }
+
+    @Test
+    void complete_ClientErrorsAndThrottling_doNotCountAsFailures() {
+        // Given
+        UpstreamCircuitBreaker breaker = breaker(2, 30, 1);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            breaker.tryCall(ARTIST_ENDPOINT).complete(HttpClientErrorException.create(HttpStatus.NOT_FOUND,
+                    "Not Found", null, null, null));
+            breaker.tryCall(ARTIST_ENDPOINT).complete(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too Many Requests", null, null, null));
+        }
+
+        // Then
+        assertEquals(State.CLOSED, breaker.getState("artists"));
+    }
+
+    @Test
+    void complete_WrappedTimeout_countsAsFailure() {
+        // Given
+        UpstreamCircuitBreaker breaker = breaker(2, 30, 1);
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            breaker.tryCall(ARTIST_ENDPOINT).complete(new CompletionException(new SocketTimeoutException("timeout")));
+        }
+
+        // Then
+        assertEquals(State.OPEN, breaker.getState("artists"));
+    }
+
+    @Test
+    void tryCall_OneFamilyOpen_otherFamiliesStillCallSpotify() {
+        // Given
+        UpstreamCircuitBreaker breaker = breaker(2, 30, 1);
+        fail(breaker, SEARCH_ENDPOINT, 2);
+
+        // When
+        UpstreamCircuitBreaker.Call search = breaker.tryCall(SEARCH_ENDPOINT);
+        UpstreamCircuitBreaker.Call artist = breaker.tryCall(ARTIST_ENDPOINT);
+
+        // Then
+        assertFalse(search.permitted());
+        assertTrue(artist.permitted());
+    }
+
+    @Test
+    void tryCall_OpenPeriodOver_admitsLimitedTrialCalls() {
+        // Given
+        UpstreamCircuitBreaker breaker = breaker(2, 30, 2);
+        fail(breaker, ARTIST_ENDPOINT, 2);
+        clock.advanceSeconds(30);
+
+        // When
+        UpstreamCircuitBreaker.Call firstTrial = breaker.tryCall(ARTIST_ENDPOINT);
+        UpstreamCircuitBreaker.Call secondTrial = breaker.tryCall(ARTIST_ENDPOINT);
+        UpstreamCircuitBreaker.Call extra = breaker.tryCall(ARTIST_ENDPOINT);
+
+        // Then
+        assertTrue(firstTrial.permitted());
+        assertTrue(secondTrial.permitted());
+        assertFalse(extra.permitted());
+        assertEquals(1, extra.retryAfterSeconds());
+        assertEquals(State.HALF_OPEN, breaker.getState("artists"));
+    }
+
+    @Test
+    void complete_AllTrialCallsSucceed_closesCircuit() {
+        // Given
+        UpstreamCircuitBreaker breaker = breaker(2, 30, 2);
+        fail(breaker, ARTIST_ENDPOINT, 2);
+        clock.advanceSeconds(30);
+        UpstreamCircuitBreaker.Call firstTrial = breaker.tryCall(ARTIST_ENDPOINT);
+        UpstreamCircuitBreaker.Call secondTrial = breaker.tryCall(ARTIST_ENDPOINT);
+
+        // When
+        firstTrial.complete(null);
+        secondTrial.complete(null);
+
+        // Then
+        assertEquals(State.CLOSED, breaker.getState("artists"));
+        assertTrue(breaker.tryCall(ARTIST_ENDPOINT).permitted());
+    }
+
+    @Test
+    void complete_TrialCallFails_reopensCircuit() {
+        // Given
+        UpstreamCircuitBreaker breaker = breaker(2, 30, 2);
+        fail(breaker, ARTIST_ENDPOINT, 2);
+        clock.advanceSeconds(30);
+        UpstreamCircuitBreaker.Call trial = breaker.tryCall(ARTIST_ENDPOINT);
+
+        // When
+        trial.complete(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null));
+        UpstreamCircuitBreaker.Call result = breaker.tryCall(ARTIST_ENDPOINT);
+
+        // Then
+        assertEquals(State.OPEN, breaker.getState("artists"));
+        assertFalse(result.permitted());
+        assertEquals(30, result.retryAfterSeconds());
+    }
+
+    @Test
+    void release_TrialCallNeverSent_freesTrialSlot() {
+        // Given
+        UpstreamCircuitBreaker breaker = breaker(2, 30, 1);
+        fail(breaker, ARTIST_ENDPOINT, 2);
+        clock.advanceSeconds(30);
+        UpstreamCircuitBreaker.Call trial = breaker.tryCall(ARTIST_ENDPOINT);
+
+        // When
+        trial.release();
+        trial.release();
+        UpstreamCircuitBreaker.Call result = breaker.tryCall(ARTIST_ENDPOINT);
+
+        // Then
+        assertTrue(result.permitted());
+        assertFalse(breaker.tryCall(ARTIST_ENDPOINT).permitted());
+    }
+
+    @Test
+    void complete_CallStartedBeforeCircuitOpened_doesNotAffectTrial() {
+        // Given
+        UpstreamCircuitBreaker breaker = breaker(2, 30, 1);
+        UpstreamCircuitBreaker.Call slowCall = breaker.tryCall(ARTIST_ENDPOINT);
+        fail(breaker, ARTIST_ENDPOINT, 2);
+        clock.advanceSeconds(30);
+        UpstreamCircuitBreaker.Call trial = breaker.tryCall(ARTIST_ENDPOINT);
+
+        // When
+        slowCall.complete(new SocketTimeoutException("timeout"));
+
+        // Then
+        assertEquals(State.HALF_OPEN, breaker.getState("artists"));
+        trial.complete(null);
+        assertEquals(State.CLOSED, breaker.getState("artists"));
+    }
+
+    @Test
+    void tryCall_Disabled_alwaysPermits() {
+        // Given
+        when(circuitBreakerConfig.isEnabled()).thenReturn(false);
+        UpstreamCircuitBreaker breaker = new UpstreamCircuitBreaker(circuitBreakerConfig, clock);
+
+        // When
+        fail(breaker, ARTIST_ENDPOINT, 100);
+
+        // Then
+        assertTrue(breaker.tryCall(ARTIST_ENDPOINT).permitted());
+        assertEquals(State.CLOSED, breaker.getState("artists"));
+    }
+
+    private UpstreamCircuitBreaker breaker(int failureThreshold, long openSeconds, int halfOpenMaxCalls) {
+        when(circuitBreakerConfig.isEnabled()).thenReturn(true);
+        when(circuitBreakerConfig.getFailureThreshold()).thenReturn(failureThreshold);
+        when(circuitBreakerConfig.getOpenSeconds()).thenReturn(openSeconds);
+        when(circuitBreakerConfig.getHalfOpenMaxCalls()).thenReturn(halfOpenMaxCalls);
+        return new UpstreamCircuitBreaker(circuitBreakerConfig, clock);
+    }
+
+    private void fail(UpstreamCircuitBreaker breaker, String apiEndpoint, int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.tryCall(apiEndpoint).complete(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Service Unavailable", null, null, null));
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
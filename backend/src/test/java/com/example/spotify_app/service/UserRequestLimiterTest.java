@@ -0,0 +1,228 @@
+package com.example.spotify_app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.example.spotify_app.config.RateLimitConfig;
+
+@ExtendWith(MockitoExtension.class)
+class UserRequestLimiterTest {
+
+    @Mock
+    private RateLimitConfig rateLimitConfig;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+
+    private static final String USER_ID = "user123";
+    private static final String OTHER_USER_ID = "user456";
+
+    @Test
+    void tryAcquire_OverConcurrencyLimit_rejectsUntilReleased() {
+        // Given
+        UserRequestLimiter limiter = limiter(2, 0, 1);
+        UserRequestLimiter.Permit first = limiter.tryAcquire(USER_ID);
+        limiter.tryAcquire(USER_ID);
+
+        // When
+        UserRequestLimiter.Permit rejected = limiter.tryAcquire(USER_ID);
+        first.release();
+        UserRequestLimiter.Permit afterRelease = limiter.tryAcquire(USER_ID);
+
+        // Then
+        assertFalse(rejected.granted());
+        assertEquals(1, rejected.retryAfterSeconds());
+        assertTrue(afterRelease.granted());
+    }
+
+    @Test
+    void release_CalledTwice_freesOneSlot() {
+        // Given
+        UserRequestLimiter limiter = limiter(2, 0, 1);
+        UserRequestLimiter.Permit first = limiter.tryAcquire(USER_ID);
+        limiter.tryAcquire(USER_ID);
+
+        // When
+        first.release();
+        first.release();
+
+        // Then
+        assertTrue(limiter.tryAcquire(USER_ID).granted());
+        assertFalse(limiter.tryAcquire(USER_ID).granted());
+    }
+
+    @Test
+    void tryAcquire_BurstExhausted_rejectsWithRetryAfterUntilNextPermit() {
+        // Given
+        UserRequestLimiter limiter = limiter(0, 10, 2);
+        limiter.tryAcquire(USER_ID);
+        limiter.tryAcquire(USER_ID);
+
+        // When
+        UserRequestLimiter.Permit rejected = limiter.tryAcquire(USER_ID);
+        clock.advanceMillis(100);
+        UserRequestLimiter.Permit afterInterval = limiter.tryAcquire(USER_ID);
+
+        // Then
+        assertFalse(rejected.granted());
+        assertEquals(1, rejected.retryAfterSeconds());
+        assertTrue(afterInterval.granted());
+    }
+
+    @Test
+    void tryAcquire_SlowRate_reportsFullWaitInRetryAfter() {
+        // Given
+        UserRequestLimiter limiter = limiter(0, 0.2, 1);
+        limiter.tryAcquire(USER_ID);
+
+        // When
+        UserRequestLimiter.Permit result = limiter.tryAcquire(USER_ID);
+
+        // Then
+        assertFalse(result.granted());
+        assertEquals(5, result.retryAfterSeconds());
+    }
+
+    @Test
+    void tryAcquire_RateRejection_doesNotHoldConcurrencySlot() {
+        // Given
+        UserRequestLimiter limiter = limiter(1, 1, 1);
+        limiter.tryAcquire(USER_ID).release();
+        assertFalse(limiter.tryAcquire(USER_ID).granted());
+
+        // When
+        clock.advanceMillis(1000);
+        UserRequestLimiter.Permit result = limiter.tryAcquire(USER_ID);
+
+        // Then
+        assertTrue(result.granted());
+    }
+
+    @Test
+    void tryAcquire_OneUserOverLimit_otherUsersUnaffected() {
+        // Given
+        UserRequestLimiter limiter = limiter(1, 10, 1);
+        limiter.tryAcquire(USER_ID);
+
+        // When
+        UserRequestLimiter.Permit sameUser = limiter.tryAcquire(USER_ID);
+        UserRequestLimiter.Permit otherUser = limiter.tryAcquire(OTHER_USER_ID);
+
+        // Then
+        assertFalse(sameUser.granted());
+        assertTrue(otherUser.granted());
+    }
+
+    @Test
+    void tryAcquire_LimitsDisabled_alwaysGrants() {
+        // Given
+        UserRequestLimiter limiter = limiter(0, 0, 1);
+
+        // When & Then
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limiter.tryAcquire(USER_ID).granted());
+        }
+    }
+
+    @Test
+    void tryAcquire_ContendedFromManyThreads_neverExceedsConcurrencyLimit() throws Exception {
+        // Given
+        UserRequestLimiter limiter = limiter(4, 0, 1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // When
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            workers.add(executor.submit(() -> {
+                for (int j = 0; j < 2000; j++) {
+                    UserRequestLimiter.Permit permit = limiter.tryAcquire(USER_ID);
+                    if (permit.granted()) {
+                        maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        inFlight.decrementAndGet();
+                        permit.release();
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertTrue(maxObserved.get() <= 4);
+        assertTrue(limiter.tryAcquire(USER_ID).granted());
+    }
+
+    @Test
+    void tryAcquire_ManyDistinctUsers_tracksAtMostMaxTrackedUsers() {
+        // Given
+        UserRequestLimiter limiter = limiter(2, 10, 5, 100);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("user" + i).release();
+        }
+
+        // Then
+        assertTrue(limiter.trackedUsers() <= 100);
+    }
+
+    private UserRequestLimiter limiter(int maxConcurrent, double permitsPerSecond, int burst) {
+        return limiter(maxConcurrent, permitsPerSecond, burst, 1000);
+    }
+
+    private UserRequestLimiter limiter(int maxConcurrent, double permitsPerSecond, int burst, long maxTrackedUsers) {
+        when(rateLimitConfig.getPerUserMaxConcurrent()).thenReturn(maxConcurrent);
+        when(rateLimitConfig.getPerUserPermitsPerSecond()).thenReturn(permitsPerSecond);
+        when(rateLimitConfig.getPerUserBurst()).thenReturn(burst);
+        when(rateLimitConfig.getPerUserMaxTrackedUsers()).thenReturn(maxTrackedUsers);
+        return new UserRequestLimiter(rateLimitConfig, clock);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceMillis(long millis) {
+            instant = instant.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.spotify_app.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AsyncUtilsTest {
+
+    @Test
+    void unwrap_CompletionException_returnsCause() {
+        // Given
+        RuntimeException cause = new RuntimeException("Network error");
+
+        // When
+        Throwable result = AsyncUtils.unwrap(new CompletionException(cause));
+
+        // Then
+        assertSame(cause, result);
+    }
+
+    @Test
+    void unwrap_NestedWrappers_returnsInnermostCause() {
+        // Given
+        IllegalStateException cause = new IllegalStateException("Invalid state");
+
+        // When
+        Throwable result = AsyncUtils.unwrap(new CompletionException(new ExecutionException(cause)));
+
+        // Then
+        assertSame(cause, result);
+    }
+
+    @Test
+    void unwrap_PlainException_returnsSameException() {
+        // Given
+        RuntimeException exception = new RuntimeException("Service error");
+
+        // When
+        Throwable result = AsyncUtils.unwrap(exception);
+
+        // Then
+        assertSame(exception, result);
+    }
+
+    @Test
+    void unwrap_CompletionExceptionWithoutCause_returnsWrapper() {
+        // Given
+        CompletionException exception = new CompletionException("No cause", null);
+
+        // When
+        Throwable result = AsyncUtils.unwrap(exception);
+
+        // Then
+        assertSame(exception, result);
+    }
+
+    @Test
+    void withTimeout_SectionCompletesInTime_returnsSectionResponse() {
+        // Given
+        ResponseEntity<String> response = ResponseEntity.ok("section");
+
+        // When
+        ResponseEntity<String> result = AsyncUtils.withTimeout(CompletableFuture.completedFuture(response), 1000)
+                .join();
+
+        // Then
+        assertSame(response, result);
+    }
+
+    @Test
+    void withTimeout_SectionTooSlow_returnsGatewayTimeoutAndLeavesSectionRunning() {
+        // Given
+        CompletableFuture<ResponseEntity<String>> section = new CompletableFuture<>();
+
+        // When
+        ResponseEntity<String> result = AsyncUtils.withTimeout(section, 10).join();
+
+        // Then
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, result.getStatusCode());
+        assertFalse(section.isDone());
+    }
+
+    @Test
+    void withTimeout_SectionFails_returnsInternalServerError() {
+        // Given
+        CompletableFuture<ResponseEntity<String>> section = CompletableFuture
+                .failedFuture(new RuntimeException("Network error"));
+
+        // When
+        ResponseEntity<String> result = AsyncUtils.withTimeout(section, 1000).join();
+
+        // Then
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, result.getStatusCode());
+    }
+
+    @Test
+    void sectionBody_Ok_returnsBodyWithoutRecordingFailure() {
+        // Given
+        Map<String, Integer> failedSections = new LinkedHashMap<>();
+
+        // When
+        String result = AsyncUtils.sectionBody("albums", ResponseEntity.ok("body"), failedSections);
+
+        // Then
+        assertEquals("body", result);
+        assertEquals(Map.of(), failedSections);
+    }
+
+    @Test
+    void sectionBody_Failed_returnsNullAndRecordsStatus() {
+        // Given
+        Map<String, Integer> failedSections = new LinkedHashMap<>();
+
+        // When
+        String result = AsyncUtils.sectionBody("albums",
+                ResponseEntity.<String>status(HttpStatus.GATEWAY_TIMEOUT).build(), failedSections);
+
+        // Then
+        assertNull(result);
+        assertEquals(Map.of("albums", 504), failedSections);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.spotify_app.util;
+
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FieldProjectionTest {
+
+    private static final String TRACK_JSON = "{\"id\":\"track_1\",\"name\":\"Song\",\"album\":{\"name\":\"Record\","
+            + "\"images\":[{\"url\":\"a.jpg\",\"height\":640},{\"url\":\"b.jpg\",\"height\":300}]}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void write_JsonBytes_keepsOnlyRequestedPaths() throws IOException {
+        // Given
+        FieldProjection projection = FieldProjection.parse("id,album.images.url");
+
+        // When
+        String result = write(projection, TRACK_JSON.getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertEquals("{\"id\":\"track_1\",\"album\":{\"images\":[{\"url\":\"a.jpg\"},{\"url\":\"b.jpg\"}]}}", result);
+    }
+
+    @Test
+    void write_ObjectBody_projectsWhileSerializing() throws IOException {
+        // Given
+        Map<String, Object> album = new LinkedHashMap<>();
+        album.put("name", "Record");
+        album.put("images", List.of(Map.of("url", "a.jpg")));
+        Map<String, Object> track = new LinkedHashMap<>();
+        track.put("id", "track_1");
+        track.put("name", "Song");
+        track.put("album", album);
+        FieldProjection projection = FieldProjection.parse("name,album.name");
+
+        // When
+        String result = write(projection, track);
+
+        // Then
+        assertEquals("{\"name\":\"Song\",\"album\":{\"name\":\"Record\"}}", result);
+    }
+
+    @Test
+    void parse_ParentAndNestedPath_includesWholeParent() throws IOException {
+        // Given
+        FieldProjection projection = FieldProjection.parse("album.images.url, album");
+
+        // When
+        String result = write(projection, TRACK_JSON.getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertEquals("{\"album\":{\"name\":\"Record\",\"images\":[{\"url\":\"a.jpg\",\"height\":640},"
+                + "{\"url\":\"b.jpg\",\"height\":300}]}}", result);
+    }
+
+    @Test
+    void write_NoRequestedFieldPresent_writesEmptyObject() throws IOException {
+        // Given
+        FieldProjection projection = FieldProjection.parse("popularity");
+
+        // When
+        String result = write(projection, TRACK_JSON.getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertEquals("{}", result);
+    }
+
+    @Test
+    void parse_BlankFields_returnsNull() {
+        // When & Then
+        assertNull(FieldProjection.parse(" "));
+        assertNull(FieldProjection.parse(",."));
+        assertNull(FieldProjection.parse(null));
+    }
+
+    private String write(FieldProjection projection, Object body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        projection.write(objectMapper, body, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}